@@ -0,0 +1,98 @@
+package net.digitary.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of re-scoring a batch of games, per game: one Game object graph at a time,
+ * ScoringEngine, and ColumnarScorer with and without SIMD
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+@State(Scope.Thread)
+public class ColumnarBenchmark {
+
+    private static final int BATCH_SIZE = 1024;
+
+    @Param({ Workloads.ALL_STRIKES, Workloads.ALL_SPARES, Workloads.OPEN_FRAMES, Workloads.MIXED })
+    public String workload;
+
+    private String[][] batch;
+
+    private Object engine;
+
+    // Loaded once, the columns are re-scored
+    private Object columns;
+
+    private int[] totals;
+
+    @Setup
+    public void setUp() throws Throwable {
+        String[][] games = Workloads.games(workload);
+        batch = new String[BATCH_SIZE][];
+        engine = (Object) Handles.NEW_SCORING_ENGINE.invokeExact();
+        columns = (Object) Handles.NEW_COLUMNAR_SCORER.invokeExact(BATCH_SIZE);
+        totals = new int[BATCH_SIZE];
+
+        for (int i=0; i<BATCH_SIZE; i++) {
+            batch[i] = games[i % games.length];
+            int[] results = new int[batch[i].length];
+            for (int j=0; j<results.length; j++) {
+                results[j] = (int) Handles.CLASSIFY.invokeExact(batch[i][j]);
+            }
+            if (!(boolean) Handles.COLUMNAR_ADD.invokeExact(columns, results, results.length)) {
+                throw new IllegalStateException("Batch is full");
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] game() throws Throwable {
+        for (int i=0; i<BATCH_SIZE; i++) {
+            Object game = (Object) Handles.NEW_GAME.invokeExact(Handles.MAX_FRAMES);
+            Handles.START.invokeExact(game, batch[i]);
+            totals[i] = (int) Handles.GET_TOTAL_SCORE.invokeExact(game);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] scoringEngine() throws Throwable {
+        for (int i=0; i<BATCH_SIZE; i++) {
+            totals[i] = (int) Handles.SCORE.invokeExact(engine, batch[i]);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] columnarScalar() throws Throwable {
+        Handles.COLUMNAR_SCORE_SCALAR.invokeExact(columns, 0, BATCH_SIZE, totals);
+        return totals;
+    }
+
+    // SIMD if the vector API is available
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] columnar() throws Throwable {
+        Handles.COLUMNAR_SCORE.invokeExact(columns, totals);
+        return totals;
+    }
+}
@@ -0,0 +1,148 @@
+package net.digitary.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The scoring classes are in the default package, which cannot be imported from here,
+ * and JMH does not allow benchmarks in the default package.
+ * They are called through method handles instead, which the JIT compiles like direct calls
+ * as they are constants.
+ */
+final class Handles {
+
+    static final int MAX_FRAMES = 10;
+
+    // static Frame Game.parseFrame(String)
+    static final MethodHandle PARSE_FRAME = method("Game", "parseFrame", String.class);
+
+    // static boolean Game.isInputValid(String[])
+    static final MethodHandle IS_INPUT_VALID = method("Game", "isInputValid", String[].class);
+
+    // new Game(int)
+    static final MethodHandle NEW_GAME = constructor("Game", int.class);
+
+    // void Game.parseGameResult(String[])
+    static final MethodHandle PARSE_GAME_RESULT = method("Game", "parseGameResult", String[].class);
+
+    // void Game.calculateTotalScore()
+    static final MethodHandle CALCULATE_TOTAL_SCORE = method("Game", "calculateTotalScore");
+
+    // void Game.start(String[])
+    static final MethodHandle START = method("Game", "start", String[].class);
+
+    // int Game.getTotalScore()
+    static final MethodHandle GET_TOTAL_SCORE = method("Game", "getTotalScore");
+
+    // static int FrameLexer.classify(String)
+    static final MethodHandle CLASSIFY = method("FrameLexer", "classify", String.class);
+
+    // new ScoringEngine()
+    static final MethodHandle NEW_SCORING_ENGINE = constructor("ScoringEngine");
+
+    // int ScoringEngine.score(String[])
+    static final MethodHandle SCORE = method("ScoringEngine", "score", String[].class);
+
+    // ScoreResult ScoringEngine.scoreGame(String[])
+    static final MethodHandle SCORE_GAME = method("ScoringEngine", "scoreGame", String[].class);
+
+    // int ScoringEngine.scoreCode(String[], int)
+    static final MethodHandle SCORE_CODE = method("ScoringEngine", "scoreCode", String[].class, int.class);
+
+    // static int TableScorer.score(int[], int)
+    static final MethodHandle TABLE_SCORE = method("TableScorer", "score", int[].class, int.class);
+
+    // new ScoreCache(int)
+    static final MethodHandle NEW_SCORE_CACHE = constructor("ScoreCache", int.class);
+
+    // ScoreResult ScoreCache.scoreGame(String[], int, ScoringEngine)
+    static final MethodHandle CACHED_SCORE_GAME = method("ScoreCache", "scoreGame",
+            String[].class, int.class, type("ScoringEngine"));
+
+    // new ColumnarScorer(int)
+    static final MethodHandle NEW_COLUMNAR_SCORER = constructor("ColumnarScorer", int.class);
+
+    // boolean ColumnarScorer.add(int[], int)
+    static final MethodHandle COLUMNAR_ADD = method("ColumnarScorer", "add", int[].class, int.class);
+
+    // void ColumnarScorer.score(int[])
+    static final MethodHandle COLUMNAR_SCORE = method("ColumnarScorer", "score", int[].class);
+
+    // void ColumnarScorer.scoreScalar(int, int, int[])
+    static final MethodHandle COLUMNAR_SCORE_SCALAR = method("ColumnarScorer", "scoreScalar",
+            int.class, int.class, int[].class);
+
+    // new RollLog(Path, long, TimeUnit)
+    static final MethodHandle NEW_ROLL_LOG = constructor("RollLog", Path.class, long.class, TimeUnit.class);
+
+    // long RollLog.append(int, int, int, int)
+    static final MethodHandle ROLL_LOG_APPEND = method("RollLog", "append", int.class, int.class, int.class, int.class);
+
+    // new DurableLanes(Path, long, TimeUnit)
+    static final MethodHandle NEW_DURABLE_LANES = constructor("DurableLanes", Path.class, long.class, TimeUnit.class);
+
+    // int DurableLanes.roll(int, int, int)
+    static final MethodHandle DURABLE_ROLL = method("DurableLanes", "roll", int.class, int.class, int.class);
+
+    // new GameRules(String, int, int, int, boolean)
+    static final MethodHandle NEW_GAME_RULES = constructor("GameRules",
+            String.class, int.class, int.class, int.class, boolean.class);
+
+    // RulesScorer GameRules.scorer()
+    static final MethodHandle RULES_SCORER = method("GameRules", "scorer");
+
+    // int RulesScorer.scoreCode(int[], int)
+    static final MethodHandle RULES_SCORE_CODE = method("RulesScorer", "scoreCode", int[].class, int.class);
+
+    private Handles() {}
+
+    // A handle with all reference types but the parameters erased to Object, for invokeExact()
+    private static MethodHandle method(String className, String name, Class<?>... parameterTypes) {
+        try {
+            Method method = Class.forName(className).getDeclaredMethod(name, parameterTypes);
+            method.setAccessible(true); // some are protected
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            return handle.asType(erase(handle.type(), parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static Class<?> type(String className) {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle constructor(String className, Class<?>... parameterTypes) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflectConstructor(
+                    Class.forName(className).getDeclaredConstructor(parameterTypes));
+            return handle.asType(handle.type().changeReturnType(Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodType erase(MethodType type, Class<?>[] parameterTypes) {
+        Class<?> returnType = type.returnType().isPrimitive() ? type.returnType() : Object.class;
+        // Scoring classes are parameters too
+        MethodType erased = MethodType.methodType(returnType);
+        for (Class<?> parameterType : parameterTypes) {
+            boolean scoring = !parameterType.isPrimitive() && !parameterType.isArray()
+                    && parameterType.getPackageName().isEmpty();
+            erased = erased.appendParameterTypes(scoring ? Object.class : parameterType);
+        }
+        // Instance methods take the receiver first
+        if (type.parameterCount() > parameterTypes.length) {
+            erased = erased.insertParameterTypes(0, Object.class);
+        }
+        return erased;
+    }
+}
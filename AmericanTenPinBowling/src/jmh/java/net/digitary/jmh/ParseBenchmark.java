@@ -0,0 +1,67 @@
+package net.digitary.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of parsing and validating the tokens of one game
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseBenchmark {
+
+    @Param({ Workloads.ALL_STRIKES, Workloads.ALL_SPARES, Workloads.OPEN_FRAMES, Workloads.MIXED })
+    public String workload;
+
+    private String[][] games;
+
+    private int next = 0;
+
+    @Setup
+    public void setUp() {
+        games = Workloads.games(workload);
+    }
+
+    private String[] nextGame() {
+        String[] game = games[next];
+        next = (next + 1) % games.length;
+        return game;
+    }
+
+    @Benchmark
+    public void parseFrame(Blackhole blackhole) throws Throwable {
+        String[] game = nextGame();
+        for (int i=0; i<Handles.MAX_FRAMES; i++) {
+            blackhole.consume((Object) Handles.PARSE_FRAME.invokeExact(game[i]));
+        }
+    }
+
+    @Benchmark
+    public void classify(Blackhole blackhole) throws Throwable {
+        String[] game = nextGame();
+        for (int i=0; i<game.length; i++) {
+            blackhole.consume((int) Handles.CLASSIFY.invokeExact(game[i]));
+        }
+    }
+
+    @Benchmark
+    public boolean isInputValid() throws Throwable {
+        return (boolean) Handles.IS_INPUT_VALID.invokeExact(nextGame());
+    }
+}
@@ -0,0 +1,76 @@
+package net.digitary.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+ * Cost of a durable roll: the append to the mapped log, and the live scoring on top of it.
+ * Both commit every millisecond in the background, fresh files every iteration keep them small.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RollLogBenchmark {
+
+    private static final int NUM_LANES = 64;
+
+    // Open frames of 4 and 4, so every game is 20 rolls
+    private static final int PINS = 4;
+
+    private Path dir;
+
+    private Object log;
+
+    private Object lanes;
+
+    private int next = 0;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Throwable {
+        dir = Files.createTempDirectory("rolls");
+        log = (Object) Handles.NEW_ROLL_LOG.invokeExact(dir.resolve("bench.log"), 1L, TimeUnit.MILLISECONDS);
+        lanes = (Object) Handles.NEW_DURABLE_LANES.invokeExact(dir.resolve("lanes"), 1L, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        ((Closeable) log).close();
+        ((Closeable) lanes).close();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long append() throws Throwable {
+        int lane = next++ % NUM_LANES;
+        return (long) Handles.ROLL_LOG_APPEND.invokeExact(log, lane, 1, 0, PINS);
+    }
+
+    @Benchmark
+    public int roll() throws Throwable {
+        int lane = next++ % NUM_LANES;
+        return (int) Handles.DURABLE_ROLL.invokeExact(lanes, lane, 1, PINS);
+    }
+}
@@ -0,0 +1,65 @@
+package net.digitary.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of scoring a game of rolls by the rules of a format, variants should cost the same as standard
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RulesBenchmark {
+
+    @Param({ "standard", "tap", "pinfall", "practice" })
+    public String rules;
+
+    private int[] rolls;
+
+    private Object scorer;
+
+    @Setup
+    public void setUp() throws Throwable {
+        Object gameRules;
+        switch (rules) {
+            case "tap":
+                gameRules = (Object) Handles.NEW_GAME_RULES.invokeExact("tap", Handles.MAX_FRAMES, 10, 9, true);
+                rolls = new int[] { 9,7,3,9,0,10,0,8,8,2,0,6,9,10,9,10,8,1 };
+                break;
+            case "pinfall":
+                gameRules = (Object) Handles.NEW_GAME_RULES.invokeExact("pinfall", Handles.MAX_FRAMES, 10, 10, false);
+                rolls = new int[] { 10,7,3,9,0,10,0,8,8,2,0,6,10,10,10 };
+                break;
+            case "practice":
+                gameRules = (Object) Handles.NEW_GAME_RULES.invokeExact("practice", 5, 10, 10, true);
+                rolls = new int[] { 10,7,3,9,0,10,0,8 };
+                break;
+            default:
+                gameRules = (Object) Handles.NEW_GAME_RULES.invokeExact("standard", Handles.MAX_FRAMES, 10, 10, true);
+                rolls = new int[] { 10,7,3,9,0,10,0,8,8,2,0,6,10,10,10,10,8,1 };
+        }
+        scorer = (Object) Handles.RULES_SCORER.invokeExact(gameRules);
+        if ((int) Handles.RULES_SCORE_CODE.invokeExact(scorer, rolls, rolls.length) < 0) {
+            throw new IllegalStateException("Invalid game for " + rules);
+        }
+    }
+
+    @Benchmark
+    public int score() throws Throwable {
+        return (int) Handles.RULES_SCORE_CODE.invokeExact(scorer, rolls, rolls.length);
+    }
+}
@@ -0,0 +1,130 @@
+package net.digitary.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of scoring one game, by stage and end to end
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoreBenchmark {
+
+    @Param({ Workloads.ALL_STRIKES, Workloads.ALL_SPARES, Workloads.OPEN_FRAMES, Workloads.MIXED })
+    public String workload;
+
+    private String[][] games;
+
+    private int[][] results;
+
+    private int next = 0;
+
+    private Object engine;
+
+    // Large enough for all the games of a workload, so all hits after the warmup
+    private Object cache;
+
+    @Setup
+    public void setUp() throws Throwable {
+        games = Workloads.games(workload);
+        results = new int[games.length][];
+        for (int i=0; i<games.length; i++) {
+            results[i] = new int[games[i].length];
+            for (int j=0; j<games[i].length; j++) {
+                results[i][j] = (int) Handles.CLASSIFY.invokeExact(games[i][j]);
+            }
+        }
+        engine = (Object) Handles.NEW_SCORING_ENGINE.invokeExact();
+        cache = (Object) Handles.NEW_SCORE_CACHE.invokeExact(4 * games.length);
+
+        // Every game is scored end to end, the same as the engine does
+        for (String[] tokens : games) {
+            Object game = (Object) Handles.NEW_GAME.invokeExact(Handles.MAX_FRAMES);
+            Handles.START.invokeExact(game, tokens);
+            int score = (int) Handles.GET_TOTAL_SCORE.invokeExact(game);
+            if (score <= 0 || score != (int) Handles.SCORE.invokeExact(engine, tokens)) {
+                throw new IllegalStateException("Not scored by Game: " + String.join(" ", tokens) + " " + score);
+            }
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (next + 1) % games.length;
+        return index;
+    }
+
+    // Includes updateFramesScores()
+    @Benchmark
+    public Object parseGameResult() throws Throwable {
+        Object game = (Object) Handles.NEW_GAME.invokeExact(Handles.MAX_FRAMES);
+        Handles.PARSE_GAME_RESULT.invokeExact(game, games[nextIndex()]);
+        return game;
+    }
+
+    @Benchmark
+    public int calculateTotalScore(ParsedGame parsed) throws Throwable {
+        Handles.CALCULATE_TOTAL_SCORE.invokeExact(parsed.game);
+        return (int) Handles.GET_TOTAL_SCORE.invokeExact(parsed.game);
+    }
+
+    // Scoring by Game.start(), the games are valid. Not gated on Game.isInputValid(), which rejects
+    // every 10th frame spare, so the spares would only be validated, see ParseBenchmark.
+    @Benchmark
+    public int game() throws Throwable {
+        Object game = (Object) Handles.NEW_GAME.invokeExact(Handles.MAX_FRAMES);
+        Handles.START.invokeExact(game, games[nextIndex()]);
+        return (int) Handles.GET_TOTAL_SCORE.invokeExact(game);
+    }
+
+    @Benchmark
+    public int scoringEngine() throws Throwable {
+        return (int) Handles.SCORE.invokeExact(engine, games[nextIndex()]);
+    }
+
+    @Benchmark
+    public Object scoringEngineValidated() throws Throwable {
+        return (Object) Handles.SCORE_GAME.invokeExact(engine, games[nextIndex()]);
+    }
+
+    @Benchmark
+    public Object scoreCache() throws Throwable {
+        String[] tokens = games[nextIndex()];
+        return (Object) Handles.CACHED_SCORE_GAME.invokeExact(cache, tokens, tokens.length, engine);
+    }
+
+    @Benchmark
+    public int tableScorer() throws Throwable {
+        int index = nextIndex();
+        return (int) Handles.TABLE_SCORE.invokeExact(results[index], results[index].length);
+    }
+
+    // A game parsed, but not totalled yet, before every call of calculateTotalScore()
+    @State(Scope.Thread)
+    public static class ParsedGame {
+
+        private Object game;
+
+        @Setup(Level.Invocation)
+        public void parse(ScoreBenchmark benchmark) throws Throwable {
+            game = (Object) Handles.NEW_GAME.invokeExact(Handles.MAX_FRAMES);
+            Handles.PARSE_GAME_RESULT.invokeExact(game, benchmark.games[benchmark.nextIndex()]);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package net.digitary.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of accepting a good game vs rejecting a malformed one
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationBenchmark {
+
+    @Param({ Workloads.MIXED, Workloads.INVALID })
+    public String workload;
+
+    private String[][] games;
+
+    private int next = 0;
+
+    private Object engine;
+
+    @Setup
+    public void setUp() throws Throwable {
+        games = Workloads.games(workload);
+        engine = (Object) Handles.NEW_SCORING_ENGINE.invokeExact();
+    }
+
+    private String[] nextGame() {
+        String[] game = games[next];
+        next = (next + 1) % games.length;
+        return game;
+    }
+
+    @Benchmark
+    public int scoreCode() throws Throwable {
+        String[] tokens = nextGame();
+        return (int) Handles.SCORE_CODE.invokeExact(engine, tokens, tokens.length);
+    }
+
+    @Benchmark
+    public Object scoreGame() throws Throwable {
+        return (Object) Handles.SCORE_GAME.invokeExact(engine, nextGame());
+    }
+
+    // Game signals malformed tokens with exceptions
+    @Benchmark
+    public Object gameParse() throws Throwable {
+        Object game = (Object) Handles.NEW_GAME.invokeExact(Handles.MAX_FRAMES);
+        try {
+            Handles.PARSE_GAME_RESULT.invokeExact(game, nextGame());
+        } catch (RuntimeException e) {
+            return e;
+        }
+        return game;
+    }
+}
@@ -0,0 +1,70 @@
+package net.digitary.jmh;
+
+/*
+ * The games the benchmarks are run with
+ */
+public class Workloads {
+
+    public static final String ALL_STRIKES = "strikes";
+
+    public static final String ALL_SPARES = "spares";
+
+    public static final String OPEN_FRAMES = "open";
+
+    public static final String MIXED = "mixed";
+
+    // Malformed games, rejected at different tokens
+    public static final String INVALID = "invalid";
+
+    private static final String[][] STRIKE_GAMES = {
+            { "X","X","X","X","X","X","X","X","X","X","X","X" }
+    };
+
+    private static final String[][] SPARE_GAMES = {
+            { "5/","5/","5/","5/","5/","5/","5/","5/","5/","5/5" },
+            { "1/","2/","3/","4/","5/","6/","7/","8/","9/","9/1" }
+    };
+
+    private static final String[][] OPEN_GAMES = {
+            { "9-","9-","9-","9-","9-","9-","9-","9-","9-","9-" },
+            { "12","34","-5","7-","81","45","63","-9","27","54" }
+    };
+
+    // Typical league games, mostly open frames with some strikes and spares
+    private static final String[][] MIXED_GAMES = {
+            { "X","7/","9-","X","-8","8/","-6","X","X","X","X","X" },
+            { "81","7/","X","9-","X","X","52","6/","9-","7/3" },
+            { "9-","X","8/","72","X","X","X","6/","81","X","9/","X" },
+            { "-7","9/","X","54","8-","X","7/","9-","63","X","X","9/" },
+            { "X","X","9-","8/","X","X","X","72","9/","X","X","X" },
+            { "72","8/","9-","X","X","81","9/","-8","X","9-" }
+    };
+
+    private static final String[][] INVALID_GAMES = {
+            { "X","7/","9-","X","-8","8/","-6","X","X","X","X","8a" },
+            { "81","7/","X","9-","X","X","52","6/","9-","7/3","X" },
+            { "9-","X","8/","72","X","X","X","6/","81","X","X","5-" },
+            { "-7","9/","X","54","8-","X","7/","9-","99","X","X","9/" },
+            { "X","X","9-","8/","X","X","X","72","9/","X" },
+            { "72","8/","9-","X","X","81","9/","-8","X","9" }
+    };
+
+    private Workloads() {}
+
+    public static String[][] games(String workload) {
+        switch (workload) {
+            case ALL_STRIKES:
+                return STRIKE_GAMES;
+            case ALL_SPARES:
+                return SPARE_GAMES;
+            case OPEN_FRAMES:
+                return OPEN_GAMES;
+            case MIXED:
+                return MIXED_GAMES;
+            case INVALID:
+                return INVALID_GAMES;
+            default:
+                throw new IllegalArgumentException("Unknown workload: " + workload);
+        }
+    }
+}
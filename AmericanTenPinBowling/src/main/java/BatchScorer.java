@@ -0,0 +1,142 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/*
+ * Scores a file of games, one game per line with the same tokens as Game.main(),
+ * e.g. "X X X X X X X X X X X X".
+ *
+ * The input is streamed line by line, so memory use does not depend on the size of the file.
+ * Every input line produces one output line: the total score, or the reason the game is invalid.
+ * Invalid games do not stop the run.
+ */
+public class BatchScorer {
+
+    private static final String INVALID = "INVALID ";
+
+    private final ScoringEngine engine = new ScoringEngine();
+
+    // Reused for every line
+    private final String[] tokens = new String[ScoringEngine.MAX_TOKENS];
+
+    private long numGames = 0;
+
+    private long numInvalid = 0;
+
+    // Optional, may be shared with other scorers
+    private final ScoreCache cache;
+
+    public BatchScorer() {
+        this(GameListener.NONE);
+    }
+
+    // The listener is called for every line, e.g. GameMetrics
+    public BatchScorer(GameListener listener) {
+        this(listener, null);
+    }
+
+    // Games found in the cache are not scored again, nor reported to the listener
+    public BatchScorer(GameListener listener, ScoreCache cache) {
+        engine.setListener(listener);
+        this.cache = cache;
+    }
+
+    public void score(BufferedReader reader, Writer writer) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            writer.write(scoreLine(line));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    public String scoreLine(String line) {
+        numGames++;
+
+        int numTokens = tokenize(line, tokens);
+        ScoreResult result = cache != null
+                ? cache.scoreGame(tokens, numTokens, engine)
+                : engine.scoreGame(tokens, numTokens);
+        if (!result.isValid()) {
+            numInvalid++;
+            return INVALID + result;
+        }
+        return String.valueOf(result.getTotalScore());
+    }
+
+    public long getNumGames() {
+        return numGames;
+    }
+
+    public long getNumInvalid() {
+        return numInvalid;
+    }
+
+    // Splits the line on spaces and tabs, returns the number of tokens even if they do not all fit
+    static int tokenize(String line, String[] tokens) {
+        int numTokens = 0;
+        int length = line.length();
+        int i = 0;
+
+        while (i < length) {
+            while (i < length && isSeparator(line.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+
+            int start = i;
+            while (i < length && !isSeparator(line.charAt(i))) {
+                i++;
+            }
+            if (numTokens < tokens.length) {
+                tokens[numTokens] = line.substring(start, i);
+            }
+            numTokens++;
+        }
+
+        return numTokens;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: BatchScorer <input file> <output file>");
+            return;
+        }
+
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+        GameMetrics metrics = new GameMetrics();
+        BatchScorer scorer = new BatchScorer(metrics);
+
+        long start = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.ISO_8859_1);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.ISO_8859_1)) {
+            scorer.score(reader, writer);
+        } catch (IOException ioe) {
+            System.err.println("Failed to score " + input + ": " + ioe.getMessage());
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(report(scorer.getNumGames(), scorer.getNumInvalid(), elapsed));
+        System.out.println(metrics.report());
+    }
+
+    static String report(long numGames, long numInvalid, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long gamesPerSecond = seconds > 0 ? (long) (numGames / seconds) : numGames;
+        return "Scored " + numGames + " games (" + numInvalid + " invalid) in "
+                + (elapsedNanos / 1_000_000) + " ms, " + gamesPerSecond + " games/s";
+    }
+}
@@ -0,0 +1,109 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Parses and scores games straight from ASCII bytes, e.g. a mapped file or a socket buffer,
+ * one game per line with the same tokens as BatchScorer.
+ *
+ * Tokens are classified in place by FrameLexer and fed to the ScoringEngine as results,
+ * so no String is created and nothing is allocated per game.
+ * Not thread safe, every thread needs its own parser.
+ */
+public class ByteGameParser {
+
+    private final ScoringEngine engine = new ScoringEngine();
+
+    // Reused for every line
+    private final int[] results = new int[ScoringEngine.MAX_TOKENS];
+
+    public void setListener(GameListener listener) {
+        engine.setListener(listener);
+    }
+
+    // Scores the line at the buffer's position and moves the position past its end of line, returns a ScoreCode.
+    // Lines end as for BatchScorer, with '\n', "\r\n" or a lone '\r', the last line needs no end of line.
+    public int scoreLine(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        int i = buffer.position();
+        int numTokens = 0;
+
+        while (i < limit) {
+            byte b = buffer.get(i);
+            if (isEndOfLine(b)) {
+                i++;
+                if (b == '\r' && i < limit && buffer.get(i) == '\n') {
+                    i++;
+                }
+                break;
+            }
+            if (isSeparator(b)) {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            while (i < limit && !isSeparator(buffer.get(i)) && !isEndOfLine(buffer.get(i))) {
+                i++;
+            }
+            if (numTokens < results.length) {
+                results[numTokens] = FrameLexer.classify(buffer, start, i);
+            }
+            numTokens++;
+        }
+
+        buffer.position(i);
+        // More tokens than results are rejected by their number, before any result is read
+        return engine.scoreCode(results, numTokens);
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private static boolean isEndOfLine(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: ByteGameParser <input file>");
+            return;
+        }
+
+        Path input = Paths.get(args[0]);
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                System.err.println("Input file larger than 2 GB: " + input);
+                return;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ByteGameParser parser = new ByteGameParser();
+
+            long start = System.nanoTime();
+            long numGames = 0;
+            long numInvalid = 0;
+            long totalScore = 0;
+            while (buffer.hasRemaining()) {
+                int code = parser.scoreLine(buffer);
+                numGames++;
+                if (ScoreCode.isValid(code)) {
+                    totalScore += ScoreCode.totalScore(code);
+                } else {
+                    numInvalid++;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            long numValid = numGames - numInvalid;
+            System.out.println(BatchScorer.report(numGames, numInvalid, elapsed)
+                    + ", average score " + (numValid > 0 ? totalScore / numValid : 0));
+        } catch (IOException ioe) {
+            System.err.println("Failed to score " + input + ": " + ioe.getMessage());
+        }
+    }
+}
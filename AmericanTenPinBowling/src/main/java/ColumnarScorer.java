@@ -0,0 +1,200 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/*
+ * Scores batches of games at once, with the same rules as Game.
+ *
+ * Games are stored by column: frame f of all the games is in contiguous arrays of its kind,
+ * pins of the 1st attempt and pins of the frame, so every frame score is computed
+ * for many games at once from the columns of the frame and the next two frames.
+ * With the jdk.incubator.vector module, e.g. java --add-modules jdk.incubator.vector,
+ * the columns are scored with SIMD instructions, see VectorColumns, otherwise with a scalar loop.
+ *
+ * Games are given as FrameLexer results and are expected to be valid, see ScoringEngine.scoreGame().
+ * Not thread safe.
+ */
+public class ColumnarScorer {
+
+    // VectorColumns.score(), null if the SIMD path can not be used.
+    // VectorColumns is compiled on its own with the module, so it is only linked at runtime.
+    private static final MethodHandle VECTOR_SCORE = vectorScore();
+
+    public static final boolean VECTORIZED = VECTOR_SCORE != null;
+
+    static final int OPEN = ScoringEngine.OPEN;
+
+    static final int SPARE = ScoringEngine.SPARE;
+
+    static final int STRIKE = ScoringEngine.STRIKE;
+
+    static final int NONE = 3; // after the last frame of a game
+
+    static final int MAX_SCORE = 10;
+
+    static final int MAX_FRAMES = ScoringEngine.MAX_TOKENS;
+
+    private final int capacity;
+
+    // Columns by frame, then by game
+    final int[][] kind = new int[MAX_FRAMES][];
+
+    final int[][] first = new int[MAX_FRAMES][];
+
+    final int[][] pins = new int[MAX_FRAMES][];
+
+    // The 10th frame bonus throws
+    final int[] bonus;
+
+    private int numGames = 0;
+
+    public ColumnarScorer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        for (int f=0; f<MAX_FRAMES; f++) {
+            kind[f] = new int[capacity];
+            first[f] = new int[capacity];
+            pins[f] = new int[capacity];
+        }
+        bonus = new int[capacity];
+    }
+
+    // Adds a game to the batch, returns false if the batch is full
+    public boolean add(int[] results, int numResults) throws NumberFormatException {
+        if (numGames == capacity) {
+            return false;
+        }
+
+        // The 10th frame strike or spare with its bonus ends the game, same as TableScorer
+        int numFrames = Math.min(numResults, MAX_FRAMES);
+        int lastBonus = 0;
+        if (numResults >= Game.MAX_FRAMES) {
+            int last = results[Game.MAX_FRAMES-1];
+            if (FrameLexer.kind(last) == FrameLexer.STRIKE) {
+                numFrames = Game.MAX_FRAMES;
+                lastBonus = TableScorer.strikeBonus(results, numResults);
+            } else if (FrameLexer.kind(last) == FrameLexer.LAST_SPARE) {
+                numFrames = Game.MAX_FRAMES;
+                lastBonus = FrameLexer.bonus(last);
+            }
+        }
+
+        int game = numGames;
+        for (int f=0; f<MAX_FRAMES; f++) {
+            int result = f < numFrames ? results[f] : 0;
+            int frameFirst = FrameLexer.first(result);
+            switch (FrameLexer.kind(result)) {
+                case FrameLexer.STRIKE:
+                    setFrame(f, game, STRIKE, MAX_SCORE, MAX_SCORE);
+                    break;
+                case FrameLexer.SPARE:
+                case FrameLexer.LAST_SPARE:
+                    setFrame(f, game, SPARE, frameFirst, MAX_SCORE);
+                    break;
+                case FrameLexer.REGULAR:
+                    setFrame(f, game, OPEN, frameFirst, frameFirst + FrameLexer.second(result));
+                    break;
+                default:
+                    if (f < numFrames) {
+                        throw new NumberFormatException("Invalid result at token " + f);
+                    }
+                    setFrame(f, game, NONE, 0, 0);
+            }
+        }
+        bonus[game] = lastBonus;
+        numGames++;
+        return true;
+    }
+
+    // Scores all the games of the batch into totals, in the order they were added
+    public void score(int[] totals) {
+        if (VECTORIZED) {
+            int scored;
+            try {
+                scored = (int) VECTOR_SCORE.invokeExact(this, numGames, totals);
+            } catch (Throwable t) {
+                throw new IllegalStateException("Vector scoring failed", t);
+            }
+            scoreScalar(scored, numGames, totals);
+        } else {
+            scoreScalar(0, numGames, totals);
+        }
+    }
+
+    // Empties the batch, so it can be filled again
+    public void clear() {
+        numGames = 0;
+    }
+
+    public int getNumGames() {
+        return numGames;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Same rules as TableScorer, frames of kind NONE score 0 and have no next frames
+    void scoreScalar(int from, int to, int[] totals) {
+        for (int g=from; g<to; g++) {
+            int total = bonus[g];
+            for (int f=0; f<MAX_FRAMES; f++) {
+                int nextKind = f + 1 < MAX_FRAMES ? kind[f+1][g] : NONE;
+                int nextPins = f + 1 < MAX_FRAMES ? pins[f+1][g] : 0;
+                int nextNextKind = f + 2 < MAX_FRAMES ? kind[f+2][g] : NONE;
+                int nextNextPins = f + 2 < MAX_FRAMES ? pins[f+2][g] : 0;
+
+                switch (kind[f][g]) {
+                    case STRIKE:
+                        if (nextKind == STRIKE) {
+                            total += nextNextKind == OPEN ? MAX_SCORE + MAX_SCORE + nextNextPins : 3 * MAX_SCORE;
+                        } else if (nextKind == SPARE) {
+                            total += MAX_SCORE + MAX_SCORE;
+                        } else {
+                            total += MAX_SCORE + nextPins; // open or none
+                        }
+                        break;
+                    case SPARE:
+                        if (nextKind == STRIKE) {
+                            total += MAX_SCORE + MAX_SCORE;
+                        } else if (nextKind == NONE) {
+                            total += MAX_SCORE;
+                        } else {
+                            total += MAX_SCORE + first[f][g];
+                        }
+                        break;
+                    default:
+                        total += pins[f][g]; // open or none
+                }
+            }
+            totals[g] = total;
+        }
+    }
+
+    private void setFrame(int f, int game, int frameKind, int frameFirst, int framePins) {
+        kind[f][game] = frameKind;
+        first[f][game] = frameFirst;
+        pins[f][game] = framePins;
+    }
+
+    private static MethodHandle vectorScore() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            Class<?> vectorColumns = Class.forName("VectorColumns");
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle isSupported = lookup.findStatic(vectorColumns, "isSupported", MethodType.methodType(boolean.class));
+            if (!(boolean) isSupported.invokeExact()) {
+                return null;
+            }
+            return lookup.findStatic(vectorColumns, "score",
+                    MethodType.methodType(int.class, ColumnarScorer.class, int.class, int[].class));
+        } catch (Throwable t) {
+            // Not on the classpath, or not linkable
+            return null;
+        }
+    }
+}
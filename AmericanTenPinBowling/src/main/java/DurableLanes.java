@@ -0,0 +1,334 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Live games of many lanes which survive a crash, identified by lane and game number.
+ *
+ * Every roll is appended to a RollLog, and snapshots of the games in progress bound the log
+ * to replay: recovery loads the last snapshot and replays the rolls logged after it.
+ * Two logs take turns. A snapshot pauses the rolls only to copy the games and switch to
+ * the other log, the snapshot file is written while rolls go on. A log is reused once
+ * a snapshot covering it is durable, logs and snapshots tell which by their generation.
+ * Finished games are dropped, the same game number on the lane then starts a new game.
+ * Thread safe.
+ */
+public class DurableLanes implements Closeable {
+
+    public static final int SNAPSHOT_MAGIC = 0x42574C53; // "BWLS"
+
+    public static final int SNAPSHOT_VERSION = 1;
+
+    static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    // 22, e.g. nine open frames and X X 34, not 2 per frame and a bonus throw
+    private static final int MAX_ROLLS = GameRules.STANDARD.getMaxRolls();
+
+    private final Path directory;
+
+    // The log of generation g is logs[g % 2]
+    private final RollLog[] logs = new RollLog[2];
+
+    private final ConcurrentMap<Long, ActiveGame> games = new ConcurrentHashMap<>();
+
+    // Rolls share the read lock, the switch to the other log takes the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile RollLog current;
+
+    // Generation of the last log covered by a durable snapshot, guarded by the lock of snapshot()
+    private int snapshotGeneration;
+
+    private final long numRecovered;
+
+    // Creates the directory if needed and recovers the games in progress
+    public DurableLanes(Path directory, long commitInterval, TimeUnit unit) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        snapshotGeneration = readSnapshot();
+
+        boolean recovered = false;
+        try {
+            for (int i=0; i<logs.length; i++) {
+                logs[i] = new RollLog(directory.resolve("rolls-" + i + ".log"), commitInterval, unit);
+            }
+
+            // Replay the logs after the snapshot, oldest first
+            RollLog older = logs[0].getGeneration() <= logs[1].getGeneration() ? logs[0] : logs[1];
+            RollLog newer = older == logs[0] ? logs[1] : logs[0];
+            long count = 0;
+            for (RollLog log : new RollLog[] { older, newer }) {
+                if (log.getGeneration() > snapshotGeneration) {
+                    log.replay(this::recover);
+                    count += log.getNumRecords();
+                }
+            }
+            numRecovered = count;
+
+            if (newer.getGeneration() > snapshotGeneration) {
+                current = newer;
+            } else {
+                current = logs[(snapshotGeneration + 1) & 1];
+                current.reset(snapshotGeneration + 1);
+            }
+            recovered = true;
+        } finally {
+            if (!recovered) {
+                close();
+            }
+        }
+    }
+
+    // Returns the total score after the roll, it is durable after the next commit of the log
+    public int roll(int lane, int game, int pins) throws IOException {
+        Long key = key(lane, game);
+        lock.readLock().lock();
+        try {
+            ActiveGame active = games.computeIfAbsent(key, k -> new ActiveGame());
+            synchronized (active) {
+                int frame = active.game.getCurrentFrame();
+                // Invalid rolls throw here, so they are never logged
+                active.roll(pins);
+                try {
+                    current.append(lane, game, frame, pins);
+                } catch (IOException | RuntimeException e) {
+                    // Not logged, so a snapshot must not hold it either
+                    active.undo();
+                    throw e;
+                }
+                if (active.game.isGameOver()) {
+                    games.remove(key, active);
+                }
+                return active.game.getTotalScore();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns null if there is no such game in progress, the player is the game number
+    public GameSnapshot snapshot(int lane, int game) {
+        ActiveGame active = games.get(key(lane, game));
+        if (active == null) {
+            return null;
+        }
+        synchronized (active) {
+            return new GameSnapshot(lane, String.valueOf(game), active.game);
+        }
+    }
+
+    // Writes a snapshot of the games in progress, the rolls logged before it are not replayed anymore
+    public synchronized void snapshot() throws IOException {
+        List<Long> keys = new ArrayList<>();
+        List<byte[]> rolls = new ArrayList<>();
+        int covered;
+
+        // The log to switch to still holds rolls no snapshot covers if the last snapshot failed,
+        // then the snapshot is written before it is reused
+        boolean blocking = snapshotGeneration < current.getGeneration() - 1;
+        lock.writeLock().lock();
+        try {
+            covered = current.getGeneration();
+            for (Map.Entry<Long, ActiveGame> entry : games.entrySet()) {
+                keys.add(entry.getKey());
+                rolls.add(entry.getValue().copyRolls());
+            }
+            if (blocking) {
+                writeSnapshot(keys, rolls, covered);
+            }
+
+            // Until the snapshot is durable, recovery replays this log, so its records must be durable
+            // before any of the next log, or a crash leaves a gap in the rolls of a game
+            current.sync();
+            RollLog next = logs[(covered + 1) & 1];
+            next.reset(covered + 1);
+            current = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (!blocking) {
+            writeSnapshot(keys, rolls, covered);
+        }
+        snapshotGeneration = covered;
+    }
+
+    // Failed snapshots are reported to System.err and tried again at the next period
+    public ScheduledFuture<?> snapshotPeriodically(ScheduledExecutorService executor, long period, TimeUnit unit) {
+        return executor.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException ioe) {
+                System.err.println("Failed to snapshot " + directory + ": " + ioe.getMessage());
+            }
+        }, period, period, unit);
+    }
+
+    // Makes all the rolls so far durable, in the calling thread
+    public void sync() {
+        // The previous log may hold rolls which are not covered by a snapshot yet
+        for (RollLog log : logs) {
+            log.sync();
+        }
+    }
+
+    // Rolls of both logs which are not durable yet
+    long getNumUncommitted() {
+        long count = 0;
+        for (RollLog log : logs) {
+            count += log.getNumRecords() - log.getNumDurable();
+        }
+        return count;
+    }
+
+    public int getNumGames() {
+        return games.size();
+    }
+
+    // Number of rolls replayed from the logs when the games were recovered
+    public long getNumRecovered() {
+        return numRecovered;
+    }
+
+    public int getGeneration() {
+        return current.getGeneration();
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (RollLog log : logs) {
+            try {
+                if (log != null) {
+                    log.close();
+                }
+            } catch (IOException ioe) {
+                failure = ioe;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void recover(int lane, int game, int frame, int pins) throws IOException {
+        Long key = key(lane, game);
+        ActiveGame active = games.computeIfAbsent(key, k -> new ActiveGame());
+        if (frame != active.game.getCurrentFrame()) {
+            throw new IOException("Corrupt roll log: lane " + lane + " game " + game + " frame " + frame);
+        }
+        try {
+            active.roll(pins);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("Corrupt roll log: lane " + lane + " game " + game + ": " + e.getMessage());
+        }
+        if (active.game.isGameOver()) {
+            games.remove(key);
+        }
+    }
+
+    // Loads the games of the snapshot, returns the generation it covers
+    private int readSnapshot() throws IOException {
+        Path path = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(path)) {
+            return RollLog.NO_GENERATION;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a snapshot: " + path);
+            }
+            int covered = in.readInt();
+            int numGames = in.readInt();
+            for (int i=0; i<numGames; i++) {
+                long key = in.readLong();
+                int numRolls = in.readUnsignedByte();
+                ActiveGame active = new ActiveGame();
+                try {
+                    for (int j=0; j<numRolls; j++) {
+                        active.roll(in.readUnsignedByte());
+                    }
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    throw new IOException("Corrupt snapshot: " + path + ": " + e.getMessage());
+                }
+                games.put(key, active);
+            }
+            return covered;
+        }
+    }
+
+    // Written to a temporary file first, which replaces the snapshot once it is durable
+    private void writeSnapshot(List<Long> keys, List<byte[]> rolls, int covered) throws IOException {
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(covered);
+            out.writeInt(keys.size());
+            for (int i=0; i<keys.size(); i++) {
+                out.writeLong(keys.get(i));
+                out.writeByte(rolls.get(i).length);
+                out.write(rolls.get(i));
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static Long key(int lane, int game) {
+        return (long) lane << 32 | (game & 0xFFFFFFFFL);
+    }
+
+    // A LiveGame and its rolls, which are all a snapshot needs to restore it
+    private static class ActiveGame {
+
+        private final LiveGame game = new LiveGame();
+
+        private final byte[] rolls = new byte[MAX_ROLLS];
+
+        private int numRolls = 0;
+
+        void roll(int pins) {
+            game.roll(pins);
+            rolls[numRolls++] = (byte) pins;
+        }
+
+        // Takes the last roll back, by replaying the ones before it
+        void undo() {
+            numRolls--;
+            game.reset();
+            for (int i=0; i<numRolls; i++) {
+                game.roll(rolls[i]);
+            }
+        }
+
+        synchronized byte[] copyRolls() {
+            byte[] copy = new byte[numRolls];
+            System.arraycopy(rolls, 0, copy, 0, numRolls);
+            return copy;
+        }
+    }
+}
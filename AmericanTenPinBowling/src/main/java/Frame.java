@@ -12,6 +12,9 @@ public class Frame {
 
     private int score = 0;
 
+    // Attempts of previous games, reused after reset()
+    private final Attempt[] reusableAttempts = new Attempt[totalNumOfTries];
+
     public boolean isSpare() {
         return isSpare;
     }
@@ -43,4 +46,27 @@ public class Frame {
     public List<Attempt> getAttempts() {
         return attempts;
     }
+
+    // Adds an attempt with the given score, reusing one of a previous game if possible
+    Attempt addAttempt(int score) {
+        int i = attempts.size();
+        Attempt attempt = i < reusableAttempts.length ? reusableAttempts[i] : null;
+        if (attempt == null) {
+            attempt = new Attempt();
+            if (i < reusableAttempts.length) {
+                reusableAttempts[i] = attempt;
+            }
+        }
+        attempt.setScore(score);
+        attempts.add(attempt);
+        return attempt;
+    }
+
+    // Clears the frame for the next game, keeping its attempts for reuse
+    void reset() {
+        attempts.clear();
+        isSpare = false;
+        isStrike = false;
+        score = 0;
+    }
 }
@@ -0,0 +1,143 @@
+import java.nio.ByteBuffer;
+
+/*
+ * Hand written lexer for frame tokens.
+ *
+ * A token is classified in a single scan of its characters and the result is
+ * packed into an int together with the pin counts, so nothing is allocated.
+ * It accepts exactly the same tokens as the regular expressions used before:
+ *
+ *   strike       X
+ *   spare        [1-9]/
+ *   last spare   [1-9]/[1-9]0?      i.e. the 10th frame spare with its bonus throw
+ *   regular      [1-9][/-] | -[1-9] | [1-9][1-9]
+ *
+ * A spare is also a regular result, but it is reported as SPARE.
+ */
+public class FrameLexer {
+
+    public static final int INVALID = 0;
+
+    public static final int STRIKE = 1;
+
+    public static final int SPARE = 2;
+
+    public static final int LAST_SPARE = 3;
+
+    public static final int REGULAR = 4;
+
+    private static final int MAX_SCORE = 10;
+
+    // The longest token, a last spare with a bonus throw of 10, e.g. "4/10"
+    private static final int MAX_LENGTH = 4;
+
+    // Packed result layout: kind (3 bits), 1st attempt (4 bits), 2nd attempt (4 bits), bonus (7 bits)
+    private static final int KIND_MASK = 0x7;
+
+    private static final int FIRST_SHIFT = 3;
+
+    private static final int SECOND_SHIFT = 7;
+
+    private static final int BONUS_SHIFT = 11;
+
+    private static final int PINS_MASK = 0xF;
+
+    private static final int BONUS_MASK = 0x7F;
+
+    private static final int STRIKE_RESULT = pack(STRIKE, MAX_SCORE, 0, 0);
+
+    private FrameLexer() {}
+
+    public static int classify(String token) {
+        if (token == null) {
+            return INVALID;
+        }
+
+        int length = token.length();
+        if (length == 0 || length > MAX_LENGTH) {
+            return INVALID;
+        }
+        return classify(length, token.charAt(0),
+                length > 1 ? token.charAt(1) : 0,
+                length > 2 ? token.charAt(2) : 0,
+                length > 3 ? token.charAt(3) : 0);
+    }
+
+    // Same as above for the ASCII token between start and end of the buffer, without creating a String
+    public static int classify(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (length <= 0 || length > MAX_LENGTH) {
+            return INVALID;
+        }
+        return classify(length, (char) (buffer.get(start) & 0xFF),
+                length > 1 ? (char) (buffer.get(start + 1) & 0xFF) : 0,
+                length > 2 ? (char) (buffer.get(start + 2) & 0xFF) : 0,
+                length > 3 ? (char) (buffer.get(start + 3) & 0xFF) : 0);
+    }
+
+    // The characters past the length are 0
+    private static int classify(int length, char c0, char c1, char c2, char c3) {
+        if (length == 1) {
+            return c0 == 'X' ? STRIKE_RESULT : INVALID;
+        }
+
+        if (c0 == '-') {
+            // Only "-[1-9]" is allowed
+            return length == 2 && isPin(c1) ? pack(REGULAR, 0, c1 - '0', 0) : INVALID;
+        }
+        if (!isPin(c0)) {
+            return INVALID;
+        }
+
+        int first = c0 - '0';
+        if (c1 == '/') {
+            if (length == 2) {
+                return pack(SPARE, first, MAX_SCORE - first, 0);
+            }
+            if (!isPin(c2)) {
+                return INVALID;
+            }
+            int bonus = c2 - '0';
+            if (length == 4) {
+                if (c3 != '0') {
+                    return INVALID;
+                }
+                bonus *= 10;
+            }
+            return pack(LAST_SPARE, first, MAX_SCORE - first, bonus);
+        }
+
+        if (length != 2) {
+            return INVALID;
+        }
+        if (c1 == '-') {
+            return pack(REGULAR, first, 0, 0);
+        }
+        return isPin(c1) ? pack(REGULAR, first, c1 - '0', 0) : INVALID;
+    }
+
+    public static int kind(int result) {
+        return result & KIND_MASK;
+    }
+
+    public static int first(int result) {
+        return (result >>> FIRST_SHIFT) & PINS_MASK;
+    }
+
+    public static int second(int result) {
+        return (result >>> SECOND_SHIFT) & PINS_MASK;
+    }
+
+    // Only set for LAST_SPARE
+    public static int bonus(int result) {
+        return (result >>> BONUS_SHIFT) & BONUS_MASK;
+    }
+
+    private static boolean isPin(char c) {
+        return c >= '1' && c <= '9';
+    }
+
+    static int pack(int kind, int first, int second, int bonus) {
+        return kind | (first << FIRST_SHIFT) | (second << SECOND_SHIFT) | (bonus << BONUS_SHIFT);
+    }
+}
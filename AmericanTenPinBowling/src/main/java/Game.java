@@ -1,23 +1,13 @@
 import java.util.ArrayList;
 
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /*
  * This class represents American 10 pin bowling game
  */
 public class Game {
 
-    private static final int MAX_FRAMES = 10;
-
-    private static final String STRIKE_REGEX = "[X]{1}";
-
-    private static final String SPARE_REGEX = "[1-9]{1}[/]{1}";
-
-    private static final String LAST_SPARE_REGEX = "[1-9]{1}[/]{1}[1-9]{1}[0]?";
-
-    private static final String REGULAR_REGEX = "([1-9]{1}[/-]{1})|([-]{1}[1-9]{1})|([1-9]{2})";
+    static final int MAX_FRAMES = 10;
 
     private static final String MISS = "-";
 
@@ -27,14 +17,6 @@ public class Game {
 
     private static final int MAX_SCORE = 10;
 
-    private static final Pattern regularPattern = Pattern.compile(REGULAR_REGEX);
-
-    private static final Pattern strikePattern = Pattern.compile(STRIKE_REGEX);
-
-    private static final Pattern sparePattern = Pattern.compile(SPARE_REGEX);
-
-    private static final Pattern lastSparePattern = Pattern.compile(LAST_SPARE_REGEX);
-
     // The number of turns is represented by the number of frames
     private int numFrames = 10; // default
 
@@ -42,38 +24,54 @@ public class Game {
 
     private List<Frame> frames = null;
 
+    // All the frames ever created, reused by the next game after reset()
+    private List<Frame> framePool = null;
+
+    // Scoring events and stage latencies, instead of logging on every game
+    private GameListener listener = GameListener.NONE;
+
     private Game() {} // Always force a Game object created  with a number of frames
 
     // In case we want to have more than 10 frames
     public Game(int numFrames) {
         this.numFrames = numFrames;
         frames = new ArrayList<Frame>(numFrames);
+        framePool = new ArrayList<Frame>(numFrames);
+    }
+
+    // Clears the game so it can score another one, keeping the frames for reuse
+    public void reset() {
+        frames.clear();
+        totalScore = 0;
     }
 
     public int getTotalScore() {
         return totalScore;
     }
 
-    public void start(String[] args) {
-        System.out.println("\n...start()");
+    public void setListener(GameListener listener) {
+        this.listener = listener != null ? listener : GameListener.NONE;
+    }
 
+    public void start(String[] args) {
         try {
             parseGameResult(args);
             calculateTotalScore();
         } catch (NumberFormatException nfe) {
-            System.err.println("Failed to process results: " + nfe.getMessage());
+            listener.gameFailed(nfe.getMessage());
         }
     }
 
     protected void parseGameResult(String[] tokens) throws NumberFormatException {
-        System.out.println("...parseGameResult()");
+        // The clock is only read for a listener
+        long start = listener != GameListener.NONE ? System.nanoTime() : 0;
 
         // 1. Parse all tokens and get them converted to frames.
         //    That will include any bonus processing at the end
 
         for (int i=0; i<tokens.length; i++) {
             String token = tokens[i];
-            Frame frame = parseFrame(tokens[i]);
+            Frame frame = parseFrame(tokens[i], nextFrame());
             frames.add(frame);
 
             // Last frame, i.e. 10th
@@ -89,7 +87,7 @@ public class Game {
                         if (isResultStrike(nextNextToken)) {
                             frame.addScore(MAX_SCORE);
                         } else if (isResultSpare(nextNextToken)) {
-                            frame.addScore(Integer.valueOf(nextNextToken.substring(0,1)));
+                            frame.addScore(FrameLexer.first(FrameLexer.classify(nextNextToken)));
                         } else {
                             frame.addScore(calculateAttemptsScore(nextNextToken));
                         }
@@ -101,14 +99,8 @@ public class Game {
                     }
                     break;
                 } else if (isResultLastSpare(token)) {
-                    // Check for 1 Bonus throw
-                    if (token.length() == 3) {
-                        frame.addScore(Integer.valueOf(token.substring(2, 3)));
-                    } else if (token.length() == 4) {
-                        frame.addScore(Integer.valueOf(token.substring(2, 4)));
-                    } else {
-                        // Not permitted. Should be checked during input validation.
-                    }
+                    // Check for 1 Bonus throw, i.e. 1 digit or 10 times a digit
+                    frame.addScore(FrameLexer.bonus(FrameLexer.classify(token)));
                     break;
                 } else {
                     // Processed already
@@ -120,14 +112,40 @@ public class Game {
 
         // 2. Check all frames but last
         updateFramesScores();
+
+        if (listener != GameListener.NONE) {
+            listener.stageCompleted(GameListener.Stage.PARSE, System.nanoTime() - start);
+        }
     }
 
     private int calculateAttemptsScore(String token) throws NumberFormatException {
-        int score1 = Integer.valueOf(token.substring(0,1));
-        int score2 = Integer.valueOf(token.substring(1,2));
+        int score1 = parseDigit(token.charAt(0));
+        int score2 = parseDigit(token.charAt(1));
         return score1 + score2;
     }
 
+    // Same as Integer.valueOf() of a single char, without the substring
+    private static int parseDigit(char c) throws NumberFormatException {
+        int digit = Character.digit(c, 10);
+        if (digit < 0) {
+            throw new NumberFormatException("For input string: \"" + c + "\"");
+        }
+        return digit;
+    }
+
+    // A frame of a previous game, or a new one
+    private Frame nextFrame() {
+        int i = frames.size();
+        if (i < framePool.size()) {
+            Frame frame = framePool.get(i);
+            frame.reset();
+            return frame;
+        }
+        Frame frame = new Frame();
+        framePool.add(frame);
+        return frame;
+    }
+
     private void updateFramesScores() {
 
         for (int i=0; i<frames.size()-1; i++) {
@@ -187,45 +205,40 @@ public class Game {
     }
 
     public static Frame parseFrame(String token) throws NumberFormatException {
-        Frame frame = new Frame();
+        return parseFrame(token, new Frame());
+    }
 
-        if (isResultStrike(token)) {
+    // Parses the token into an empty frame
+    private static Frame parseFrame(String token, Frame frame) throws NumberFormatException {
+        int result = FrameLexer.classify(token);
+        int kind = FrameLexer.kind(result);
+
+        if (kind == FrameLexer.STRIKE) {
             frame.setStrike(true);
             frame.setScore(STRIKE_SCORE);
-
-            Attempt attempt = new Attempt();
-            attempt.setScore(MAX_SCORE);
-            frame.getAttempts().add(attempt);
+            frame.addAttempt(MAX_SCORE);
         }
         else
-        if (isResultSpare(token)) {
+        if (kind == FrameLexer.SPARE || kind == FrameLexer.LAST_SPARE) {
             frame.setSpare(true);
             frame.setScore(SPARE_SCORE);
-
-            Attempt attempt = new Attempt();
-            String attemptStr1 = token.substring(0,1);
-            attempt.setScore(Integer.valueOf(attemptStr1));
-            frame.getAttempts().add(attempt);
+            frame.addAttempt(FrameLexer.first(result));
         }
         else
-        if (isResultLastSpare(token)) {
-            frame.setSpare(true);
-            frame.setScore(SPARE_SCORE);
-
-            Attempt attempt = new Attempt();
-            String attemptStr1 = token.substring(0,1);
-            attempt.setScore(Integer.valueOf(attemptStr1));
-            frame.getAttempts().add(attempt);
+        if (kind == FrameLexer.REGULAR) {
+            // A miss is a 0
+            frame.addAttempt(FrameLexer.first(result));
+            frame.addAttempt(FrameLexer.second(result));
+            frame.setScore(FrameLexer.first(result) + FrameLexer.second(result));
         }
         else {
-            // Assume 2 attempts score
+            // Assume 2 attempts score, e.g. "--"
             if (token.isBlank()) {
                 throw new NumberFormatException("Empty result 1");
             }
 
             String attemptStr1 = token.substring(0,1);
-            Attempt attempt = new Attempt();
-            frame.getAttempts().add(attempt);
+            Attempt attempt = frame.addAttempt(0);
             if (attemptStr1.equals(MISS)) {
                 frame.addScore(0);
             } else {
@@ -238,8 +251,7 @@ public class Game {
             }
 
             String attemptStr2 = token.substring(1,2);
-            attempt = new Attempt();
-            frame.getAttempts().add(attempt);
+            attempt = frame.addAttempt(0);
             if (attemptStr2.equals(MISS)) {
                 frame.addScore(0);
             } else {
@@ -252,11 +264,23 @@ public class Game {
     }
 
     protected void calculateTotalScore() {
-        System.out.println("...calculateTotalScore()");
+        long start = listener != GameListener.NONE ? System.nanoTime() : 0;
+        int numStrikes = 0;
+        int numSpares = 0;
         for (int i=0; i<frames.size(); i++) {
-            totalScore += frames.get(i).getScore();
+            Frame frame = frames.get(i);
+            totalScore += frame.getScore();
+            if (frame.isStrike()) {
+                numStrikes++;
+            } else if (frame.isSpare()) {
+                numSpares++;
+            }
+        }
+
+        if (listener != GameListener.NONE) {
+            listener.stageCompleted(GameListener.Stage.CALCULATE_TOTAL, System.nanoTime() - start);
+            listener.gameScored(totalScore, numStrikes, numSpares);
         }
-        System.out.println("\nTotal score is: "+ totalScore + "\n");
     }
 
     public static boolean isInputValid(String[] tokens) throws NumberFormatException {
@@ -264,32 +288,21 @@ public class Game {
         boolean valid = false;
 
         for (int i=0; i<tokens.length; i++) {
-            if (!isResultStrike(tokens[i])) {
-                if (!isResultSpare(tokens[i])) {
-                    if (!isResultRegular(tokens[i])) {
-                        // Check if the last spare which is in a different format
-                        if (i == MAX_FRAMES) {
-                            if (!isResultLastSpare(tokens[i])) {
-                                valid = true;
-                            }
-                        }
-                        return false;
-                    } else {
-                        Frame frame = parseFrame(tokens[i]);
-                        int score1 = frame.getAttempts().get(0).getScore();
-                        int score2 = frame.getAttempts().get(1).getScore();
-                        int scoreSum = score1 + score2;
-                        if ( scoreSum <= MAX_SCORE) {
-                            valid = true;
-                        } else {
-                            return false;
-                        }
-                    }
-                } else {
+            int result = FrameLexer.classify(tokens[i]);
+            int kind = FrameLexer.kind(result);
+
+            if (kind == FrameLexer.STRIKE || kind == FrameLexer.SPARE) {
+                valid = true;
+            } else if (kind == FrameLexer.REGULAR) {
+                int scoreSum = FrameLexer.first(result) + FrameLexer.second(result);
+                if ( scoreSum <= MAX_SCORE) {
                     valid = true;
+                } else {
+                    return false;
                 }
             } else {
-                valid = true;
+                // The last spare is in a different format and not a regular result either
+                return false;
             }
         }
 
@@ -297,55 +310,26 @@ public class Game {
     }
 
     public static boolean isResultStrike(String result) {
-        if (result != null && !result.isBlank()) {
-            Matcher strikeMatcher = strikePattern.matcher(result);
-            if (strikeMatcher.matches()) {
-                return true;
-            }
-        }
-        return false;
+        return FrameLexer.kind(FrameLexer.classify(result)) == FrameLexer.STRIKE;
     }
 
     public static boolean isResultSpare(String result) {
-        if (result != null && !result.isBlank()) {
-            Matcher spareMatcher = sparePattern.matcher(result);
-            if (spareMatcher.matches()) {
-                return true;
-            }
-        }
-        return false;
+        return FrameLexer.kind(FrameLexer.classify(result)) == FrameLexer.SPARE;
     }
 
     public static boolean isResultLastSpare(String result) {
-        if (result != null && !result.isBlank()) {
-            Matcher lastSpareMatcher = lastSparePattern.matcher(result);
-            if (lastSpareMatcher.matches()) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private static boolean isResultRegular(String result) {
-        if (result != null && !result.isBlank()) {
-            Matcher regularMatcher = regularPattern.matcher(result);
-            if (regularMatcher.matches()) {
-                return true;
-            }
-        }
-        return false;
+        return FrameLexer.kind(FrameLexer.classify(result)) == FrameLexer.LAST_SPARE;
     }
 
     public static void main(String[] args) {
         System.out.println("Run with arguments: " + args.length);
 
-        if (args.length == 10 || args.length == 12) {
-            if (Game.isInputValid(args)) {
-                Game game = new Game();
-                game.start(args);
-            }
-        } else {
-            System.err.println("Invalid number of parameters: must be 8 or 10");
+        // Validate, parse and score in a single pass, a failure is reported by the listener
+        ScoringEngine engine = new ScoringEngine();
+        engine.setListener(GameListener.STDERR);
+        ScoreResult result = engine.scoreGame(args);
+        if (result.isValid()) {
+            System.out.println("\nTotal score is: "+ result.getTotalScore() + "\n");
         }
     }
 }
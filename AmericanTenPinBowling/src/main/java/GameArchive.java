@@ -0,0 +1,136 @@
+import java.nio.ByteBuffer;
+
+/*
+ * Compact binary encoding of games.
+ *
+ * A game is stored in a fixed size record of 12 bytes, one nibble per symbol, high nibble first:
+ *
+ *   0-9   pins of an attempt, 0 is a miss
+ *   10    strike
+ *   11    spare, i.e. the rest of the pins of the frame
+ *   12    trailing 0 of the last spare bonus throw, e.g. "4/10"
+ *   13    last spare, followed by the bonus throw
+ *   15    end of game, the rest of the record is padded with it
+ *
+ * so "X 7/ 9- ..." becomes 10, 7 11, 9 0, ...
+ * A valid game has at most 12 tokens of up to 2 symbols, or 9 frames plus the 4 symbols of "4/10".
+ * Archive files start with a header of MAGIC and VERSION followed by the records.
+ */
+public class GameArchive {
+
+    public static final int MAGIC = 0x42574C47; // "BWLG"
+
+    public static final int VERSION = 1;
+
+    public static final int HEADER_SIZE = 8;
+
+    public static final int RECORD_SIZE = 12;
+
+    private static final int MAX_SYMBOLS = 2 * RECORD_SIZE;
+
+    static final int STRIKE = 10;
+
+    static final int SPARE = 11;
+
+    static final int ZERO = 12;
+
+    static final int LAST_SPARE = 13;
+
+    static final int END = 15;
+
+    private static final int MAX_SCORE = 10;
+
+    private static final int STRIKE_RESULT = FrameLexer.classify("X");
+
+    private GameArchive() {}
+
+    // Encodes the results of a valid game into the record at the buffer's position
+    public static void encode(int[] results, int numResults, ByteBuffer buffer) {
+        int position = buffer.position();
+        int symbol = 0;
+        for (int i=0; i<numResults; i++) {
+            int result = results[i];
+            int first = FrameLexer.first(result);
+            switch (FrameLexer.kind(result)) {
+                case FrameLexer.STRIKE:
+                    symbol = putSymbol(buffer, position, symbol, STRIKE);
+                    break;
+                case FrameLexer.SPARE:
+                    symbol = putSymbol(buffer, position, symbol, first);
+                    symbol = putSymbol(buffer, position, symbol, SPARE);
+                    break;
+                case FrameLexer.LAST_SPARE:
+                    symbol = putSymbol(buffer, position, symbol, first);
+                    symbol = putSymbol(buffer, position, symbol, LAST_SPARE);
+                    int bonus = FrameLexer.bonus(result);
+                    if (bonus >= MAX_SCORE) {
+                        symbol = putSymbol(buffer, position, symbol, bonus / 10);
+                        symbol = putSymbol(buffer, position, symbol, ZERO);
+                    } else {
+                        symbol = putSymbol(buffer, position, symbol, bonus);
+                    }
+                    break;
+                case FrameLexer.REGULAR:
+                    symbol = putSymbol(buffer, position, symbol, first);
+                    symbol = putSymbol(buffer, position, symbol, FrameLexer.second(result));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid result at token " + i);
+            }
+        }
+
+        while (symbol < MAX_SYMBOLS) {
+            symbol = putSymbol(buffer, position, symbol, END);
+        }
+        buffer.position(position + RECORD_SIZE);
+    }
+
+    // Decodes the record at the given offset into results, returns the number of results
+    public static int decode(ByteBuffer buffer, int offset, int[] results) {
+        int numResults = 0;
+        int symbol = 0;
+        while (symbol < MAX_SYMBOLS) {
+            int first = getSymbol(buffer, offset, symbol++);
+            if (first == END) {
+                break;
+            }
+            if (first == STRIKE) {
+                results[numResults++] = STRIKE_RESULT;
+                continue;
+            }
+
+            int second = getSymbol(buffer, offset, symbol++);
+            if (second == SPARE) {
+                results[numResults++] = FrameLexer.pack(FrameLexer.SPARE, first, MAX_SCORE - first, 0);
+            } else if (second == LAST_SPARE) {
+                int bonus = getSymbol(buffer, offset, symbol++);
+                if (symbol < MAX_SYMBOLS && getSymbol(buffer, offset, symbol) == ZERO) {
+                    symbol++;
+                    bonus *= 10;
+                }
+                results[numResults++] = FrameLexer.pack(FrameLexer.LAST_SPARE, first, MAX_SCORE - first, bonus);
+            } else {
+                results[numResults++] = FrameLexer.pack(FrameLexer.REGULAR, first, second, 0);
+            }
+        }
+        return numResults;
+    }
+
+    private static int putSymbol(ByteBuffer buffer, int position, int symbol, int value) {
+        if (symbol == MAX_SYMBOLS) {
+            throw new IllegalArgumentException("Game does not fit into a record");
+        }
+        int index = position + symbol / 2;
+        if (symbol % 2 == 0) {
+            buffer.put(index, (byte) (value << 4));
+        } else {
+            buffer.put(index, (byte) (buffer.get(index) | value));
+        }
+        return symbol + 1;
+    }
+
+    private static int getSymbol(ByteBuffer buffer, int offset, int symbol) {
+        int b = buffer.get(offset + symbol / 2);
+        return symbol % 2 == 0 ? (b >> 4) & 0xF : b & 0xF;
+    }
+}
@@ -0,0 +1,100 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Memory mapped reader of a GameArchive file.
+ *
+ * Games are scored straight from their encoded records, without any text parsing.
+ * The file is mapped in segments of whole records, so archives larger than 2GB are supported.
+ * Not thread safe, but several readers can share the same file.
+ */
+public class GameArchiveReader implements Closeable {
+
+    private static final int RECORDS_PER_SEGMENT = (1 << 30) / GameArchive.RECORD_SIZE;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer[] segments;
+
+    private final long numGames;
+
+    private final ScoringEngine engine = new ScoringEngine();
+
+    private final int[] results = new int[ScoringEngine.MAX_TOKENS];
+
+    public GameArchiveReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, GameArchive.HEADER_SIZE));
+            if (size < GameArchive.HEADER_SIZE
+                    || header.getInt(0) != GameArchive.MAGIC || header.getInt(4) != GameArchive.VERSION) {
+                throw new IOException("Not a game archive: " + path);
+            }
+
+            numGames = (size - GameArchive.HEADER_SIZE) / GameArchive.RECORD_SIZE;
+            int numSegments = (int) ((numGames + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT);
+            segments = new MappedByteBuffer[numSegments];
+            for (int i=0; i<numSegments; i++) {
+                long first = (long) i * RECORDS_PER_SEGMENT;
+                long count = Math.min(RECORDS_PER_SEGMENT, numGames - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        GameArchive.HEADER_SIZE + first * GameArchive.RECORD_SIZE, count * GameArchive.RECORD_SIZE);
+            }
+        } catch (IOException ioe) {
+            channel.close();
+            throw ioe;
+        }
+    }
+
+    public long getNumGames() {
+        return numGames;
+    }
+
+    public int score(long game) {
+        int numResults = decode(game, results);
+        return engine.score(results, numResults);
+    }
+
+    // Decodes a game into FrameLexer results, returns the number of results
+    public int decode(long game, int[] results) {
+        if (game < 0 || game >= numGames) {
+            throw new IndexOutOfBoundsException("Game " + game + " out of " + numGames);
+        }
+        MappedByteBuffer segment = segments[(int) (game / RECORDS_PER_SEGMENT)];
+        int offset = (int) (game % RECORDS_PER_SEGMENT) * GameArchive.RECORD_SIZE;
+        return GameArchive.decode(segment, offset, results);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Re-scores every game of an archive
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: GameArchiveReader <archive file>");
+            return;
+        }
+
+        try (GameArchiveReader reader = new GameArchiveReader(Paths.get(args[0]))) {
+            long start = System.nanoTime();
+            long totalScore = 0;
+            for (long i=0; i<reader.getNumGames(); i++) {
+                totalScore += reader.score(i);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            System.out.println(BatchScorer.report(reader.getNumGames(), 0, elapsed)
+                    + ", average score " + (reader.getNumGames() > 0 ? totalScore / reader.getNumGames() : 0));
+        } catch (IOException ioe) {
+            System.err.println("Failed to read " + args[0] + ": " + ioe.getMessage());
+        }
+    }
+}
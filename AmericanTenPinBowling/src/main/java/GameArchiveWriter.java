@@ -0,0 +1,91 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/*
+ * Writes games to a GameArchive file. Only valid games are written.
+ */
+public class GameArchiveWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream out;
+
+    private final ScoringEngine engine = new ScoringEngine();
+
+    private final ByteBuffer record = ByteBuffer.allocate(GameArchive.RECORD_SIZE);
+
+    private final int[] results = new int[ScoringEngine.MAX_TOKENS];
+
+    private long numGames = 0;
+
+    public GameArchiveWriter(Path path) throws IOException {
+        out = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+
+        ByteBuffer header = ByteBuffer.allocate(GameArchive.HEADER_SIZE);
+        header.putInt(GameArchive.MAGIC).putInt(GameArchive.VERSION);
+        out.write(header.array());
+    }
+
+    // Returns the validation result, the game is only written if it is valid
+    public ScoreResult write(String[] tokens, int numTokens) throws IOException {
+        ScoreResult result = engine.scoreGame(tokens, numTokens);
+        if (!result.isValid()) {
+            return result;
+        }
+
+        for (int i=0; i<numTokens; i++) {
+            results[i] = FrameLexer.classify(tokens[i]);
+        }
+        record.clear();
+        GameArchive.encode(results, numTokens, record);
+        out.write(record.array());
+        numGames++;
+        return result;
+    }
+
+    public ScoreResult write(String[] tokens) throws IOException {
+        return write(tokens, tokens.length);
+    }
+
+    public long getNumGames() {
+        return numGames;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    // Converts a file of games, one game per line, into an archive
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: GameArchiveWriter <input file> <archive file>");
+            return;
+        }
+
+        Path input = Paths.get(args[0]);
+        String[] tokens = new String[ScoringEngine.MAX_TOKENS];
+        long numInvalid = 0;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.ISO_8859_1);
+             GameArchiveWriter writer = new GameArchiveWriter(Paths.get(args[1]))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int numTokens = BatchScorer.tokenize(line, tokens);
+                if (!writer.write(tokens, numTokens).isValid()) {
+                    numInvalid++;
+                }
+            }
+            System.out.println("Archived " + writer.getNumGames() + " games, skipped " + numInvalid + " invalid");
+        } catch (IOException ioe) {
+            System.err.println("Failed to archive " + input + ": " + ioe.getMessage());
+        }
+    }
+}
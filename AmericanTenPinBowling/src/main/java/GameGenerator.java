@@ -0,0 +1,326 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/*
+ * Seeded generator of random games, in the tokens of Game.main(), e.g. to produce production like load.
+ *
+ * Every game is bowled by a player of one of the skills: a frame is a strike at the strike rate,
+ * otherwise the 1st ball leaves a few pins, fewer for better players, and the spare is converted
+ * at the spare rate. Frames the tokens cannot write, e.g. "--" or a 10th frame strike followed by
+ * less than a strike, are drawn again, so every game is scored by ScoringEngine, as in Game.main().
+ * Game.isInputValid() accepts them too, except a 10th frame spare, e.g. "8/6", which it never does.
+ * A fraction of the games is malformed the ways real input is, and always rejected by ScoringEngine.
+ *
+ * The same seed always generates the same games. Tokens are shared constants, so generating
+ * a game allocates nothing. Not thread safe, use a generator per thread with its own seed.
+ */
+public class GameGenerator {
+
+    // A malformed game may have one token more than a valid one
+    public static final int MAX_TOKENS = ScoringEngine.MAX_TOKENS + 1;
+
+    private static final int MAX_PINS = 10;
+
+    private static final String STRIKE = "X";
+
+    private static final String TOO_MANY_PINS = "99";
+
+    private static final String INVALID_CHARACTER = "8a";
+
+    // By 1st attempt
+    private static final String[] SPARES = new String[MAX_PINS];
+
+    // By 1st and 2nd attempts, "--" cannot be written
+    private static final String[][] REGULARS = new String[MAX_PINS][MAX_PINS];
+
+    // By 1st attempt and bonus throw, e.g. "4/10"
+    private static final String[][] LAST_SPARES = new String[MAX_PINS][MAX_PINS + 1];
+
+    static {
+        for (int first=0; first<MAX_PINS; first++) {
+            if (first > 0) {
+                SPARES[first] = first + "/";
+                for (int bonus=1; bonus<=MAX_PINS; bonus++) {
+                    LAST_SPARES[first][bonus] = first + "/" + bonus;
+                }
+            }
+            for (int second=0; first+second<MAX_PINS; second++) {
+                if (first + second > 0) {
+                    REGULARS[first][second] = pins(first) + pins(second);
+                }
+            }
+        }
+    }
+
+    // A league night, mostly league players
+    private static final Skill[] LEAGUE_NIGHT = { Skill.BEGINNER, Skill.LEAGUE, Skill.LEAGUE, Skill.LEAGUE, Skill.PRO };
+
+    // How well a player bowls
+    public static final class Skill {
+
+        public static final Skill BEGINNER = new Skill("beginner", 0.05, 0.15);
+
+        public static final Skill LEAGUE = new Skill("league", 0.3, 0.6);
+
+        public static final Skill PRO = new Skill("pro", 0.6, 0.85);
+
+        private final String name;
+
+        private final double strikeRate;
+
+        private final double spareRate;
+
+        // Mean pins left by a 1st ball which is not a strike, beyond the 1st one
+        private final double meanLeave;
+
+        // The rates are the fractions of frames, 0-1
+        public Skill(String name, double strikeRate, double spareRate) {
+            if (strikeRate < 0 || strikeRate > 1) {
+                throw new IllegalArgumentException("Invalid strike rate: " + strikeRate);
+            }
+            if (spareRate < 0 || spareRate > 1) {
+                throw new IllegalArgumentException("Invalid spare rate: " + spareRate);
+            }
+            this.name = name;
+            this.strikeRate = strikeRate;
+            this.spareRate = spareRate;
+            meanLeave = 3 * (1 - strikeRate);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getStrikeRate() {
+            return strikeRate;
+        }
+
+        public double getSpareRate() {
+            return spareRate;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private final SplittableRandom random;
+
+    private final double malformedFraction;
+
+    private final Skill[] skills;
+
+    // Reused by nextLine() and write()
+    private final String[] tokens = new String[MAX_TOKENS];
+
+    private final StringBuilder line = new StringBuilder(4 * MAX_TOKENS);
+
+    private long numGames = 0;
+
+    private long numMalformed = 0;
+
+    // Valid games of a league night
+    public GameGenerator(long seed) {
+        this(seed, 0, LEAGUE_NIGHT);
+    }
+
+    // The player of a game is drawn from the skills, repeat a skill to weight it
+    public GameGenerator(long seed, double malformedFraction, Skill... skills) {
+        if (malformedFraction < 0 || malformedFraction > 1) {
+            throw new IllegalArgumentException("Invalid malformed fraction: " + malformedFraction);
+        }
+        if (skills.length == 0) {
+            throw new IllegalArgumentException("No skills");
+        }
+        random = new SplittableRandom(seed);
+        this.malformedFraction = malformedFraction;
+        this.skills = skills.clone();
+    }
+
+    // Fills the tokens of the next game, at least MAX_TOKENS, and returns their number
+    public int nextGame(String[] tokens) {
+        Skill skill = skills[skills.length == 1 ? 0 : random.nextInt(skills.length)];
+        int numTokens = 0;
+        for (int i=0; i<Game.MAX_FRAMES-1; i++) {
+            tokens[numTokens++] = frame(skill, false);
+        }
+        numTokens = lastFrame(skill, tokens, numTokens);
+
+        numGames++;
+        if (malformedFraction > 0 && random.nextDouble() < malformedFraction) {
+            numMalformed++;
+            numTokens = malform(tokens, numTokens);
+        }
+        return numTokens;
+    }
+
+    // The next game as a line, e.g. "X 7/ 9- X -8 8/ -6 X X X X 81"
+    public String nextLine() {
+        int numTokens = nextGame(tokens);
+        line.setLength(0);
+        for (int i=0; i<numTokens; i++) {
+            if (i > 0) {
+                line.append(' ');
+            }
+            line.append(tokens[i]);
+        }
+        return line.toString();
+    }
+
+    // Writes the games one per line, as read by BatchScorer
+    public void write(Writer writer, long numGames) throws IOException {
+        for (long game=0; game<numGames; game++) {
+            int numTokens = nextGame(tokens);
+            for (int i=0; i<numTokens; i++) {
+                if (i > 0) {
+                    writer.write(' ');
+                }
+                writer.write(tokens[i]);
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    public long getNumGames() {
+        return numGames;
+    }
+
+    public long getNumMalformed() {
+        return numMalformed;
+    }
+
+    // A frame of the 1st nine, or the last bonus throws after two strikes, which cannot miss
+    private String frame(Skill skill, boolean bonus) {
+        while (true) {
+            int first = firstBall(skill);
+            if (first == MAX_PINS) {
+                return STRIKE;
+            }
+            int second = secondBall(skill, MAX_PINS - first);
+            if (first + second == MAX_PINS) {
+                if (first > 0) {
+                    return SPARES[first];
+                }
+            } else if (bonus ? first > 0 && second > 0 : first + second > 0) {
+                return REGULARS[first][second];
+            }
+            // E.g. "-/" or "--", draw again
+        }
+    }
+
+    private int lastFrame(Skill skill, String[] tokens, int numTokens) {
+        while (true) {
+            int first = firstBall(skill);
+            if (first == MAX_PINS) {
+                // The tokens of a strike bonus start with a strike
+                if (firstBall(skill) != MAX_PINS) {
+                    continue;
+                }
+                tokens[numTokens++] = STRIKE;
+                tokens[numTokens++] = STRIKE;
+                tokens[numTokens++] = frame(skill, true);
+                return numTokens;
+            }
+
+            int second = secondBall(skill, MAX_PINS - first);
+            if (first + second == MAX_PINS) {
+                if (first == 0) {
+                    continue;
+                }
+                int bonus;
+                do {
+                    bonus = firstBall(skill);
+                } while (bonus == 0);
+                tokens[numTokens++] = LAST_SPARES[first][bonus];
+                return numTokens;
+            } else if (first + second > 0) {
+                tokens[numTokens++] = REGULARS[first][second];
+                return numTokens;
+            }
+        }
+    }
+
+    // Pins of a ball at a full rack
+    private int firstBall(Skill skill) {
+        if (random.nextDouble() < skill.strikeRate) {
+            return MAX_PINS;
+        }
+        int leave = 1 + (int) (-Math.log(1 - random.nextDouble()) * skill.meanLeave);
+        return MAX_PINS - Math.min(leave, MAX_PINS);
+    }
+
+    private int secondBall(Skill skill, int standing) {
+        return random.nextDouble() < skill.spareRate ? standing : random.nextInt(standing);
+    }
+
+    // Breaks one token, returns the new number of tokens
+    private int malform(String[] tokens, int numTokens) {
+        int i = random.nextInt(numTokens);
+        switch (random.nextInt(4)) {
+            case 0:
+                // Lost
+                System.arraycopy(tokens, i + 1, tokens, i, numTokens - i - 1);
+                return numTokens - 1;
+            case 1:
+                // Repeated
+                System.arraycopy(tokens, i, tokens, i + 1, numTokens - i);
+                return numTokens + 1;
+            case 2:
+                tokens[i] = TOO_MANY_PINS;
+                return numTokens;
+            default:
+                tokens[i] = INVALID_CHARACTER;
+                return numTokens;
+        }
+    }
+
+    private static String pins(int pins) {
+        return pins == 0 ? "-" : String.valueOf(pins);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 4) {
+            System.err.println("Usage: GameGenerator <output file> <number of games> [seed] [malformed fraction]");
+            return;
+        }
+
+        Path output = Paths.get(args[0]);
+        long numGames;
+        long seed = 1;
+        double malformedFraction = 0;
+        try {
+            numGames = Long.parseLong(args[1]);
+            if (args.length > 2) {
+                seed = Long.parseLong(args[2]);
+            }
+            if (args.length > 3) {
+                malformedFraction = Double.parseDouble(args[3]);
+            }
+        } catch (NumberFormatException nfe) {
+            System.err.println("Invalid number: " + nfe.getMessage());
+            return;
+        }
+
+        GameGenerator generator = new GameGenerator(seed, malformedFraction, LEAGUE_NIGHT);
+        long start = System.nanoTime();
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.US_ASCII)) {
+            generator.write(writer, numGames);
+        } catch (IOException ioe) {
+            System.err.println("Failed to write " + output + ": " + ioe.getMessage());
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        System.out.println("Generated " + generator.getNumGames() + " games, " + generator.getNumMalformed()
+                + " malformed, in " + elapsedNanos / 1_000_000 + " ms, "
+                + (long) (generator.getNumGames() * 1e9 / Math.max(elapsedNanos, 1)) + " games/s");
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Receives the events of scoring games, e.g. to collect GameMetrics.
+ *
+ * Called on the scoring thread, so implementations must be cheap and,
+ * if shared between threads, thread safe. All events are no-ops by default.
+ */
+public interface GameListener {
+
+    // Does nothing, the default of Game and ScoringEngine
+    GameListener NONE = new GameListener() {};
+
+    // Prints the failures to System.err, e.g. for the command line of Game.main()
+    GameListener STDERR = new GameListener() {
+        @Override
+        public void gameFailed(String reason) {
+            System.err.println("Failed to process results: " + reason);
+        }
+    };
+
+    enum Stage {
+        PARSE, // Game.parseGameResult()
+        CALCULATE_TOTAL, // Game.calculateTotalScore()
+        SCORE // ScoringEngine.scoreGame(), validation, parsing and scoring in one pass
+    }
+
+    default void stageCompleted(Stage stage, long elapsedNanos) {}
+
+    default void gameScored(int totalScore, int numStrikes, int numSpares) {}
+
+    // LiveGame only: the score of a frame changed, by a roll in it or a strike or spare bonus resolved later
+    default void frameScored(int frame, int frameScore, int totalScore) {}
+
+    default void gameFailed(String reason) {}
+
+    // Passes every event to all the listeners in order, e.g. GameMetrics and a Leaderboard
+    static GameListener all(GameListener... listeners) {
+        GameListener[] copy = listeners.clone();
+        return new GameListener() {
+            @Override
+            public void stageCompleted(Stage stage, long elapsedNanos) {
+                for (GameListener listener : copy) {
+                    listener.stageCompleted(stage, elapsedNanos);
+                }
+            }
+
+            @Override
+            public void gameScored(int totalScore, int numStrikes, int numSpares) {
+                for (GameListener listener : copy) {
+                    listener.gameScored(totalScore, numStrikes, numSpares);
+                }
+            }
+
+            @Override
+            public void frameScored(int frame, int frameScore, int totalScore) {
+                for (GameListener listener : copy) {
+                    listener.frameScored(frame, frameScore, totalScore);
+                }
+            }
+
+            @Override
+            public void gameFailed(String reason) {
+                for (GameListener listener : copy) {
+                    listener.gameFailed(reason);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/*
+ * Counters and per-stage latency histograms of the games scored.
+ *
+ * Thread safe, so a single instance can be shared by all the scoring threads.
+ * Read it with the getters, or have report() dumped periodically.
+ */
+public class GameMetrics implements GameListener {
+
+    private final LongAdder numGames = new LongAdder();
+
+    private final LongAdder numStrikes = new LongAdder();
+
+    private final LongAdder numSpares = new LongAdder();
+
+    private final LongAdder numFailures = new LongAdder();
+
+    private final Map<Stage, LatencyHistogram> latencies = new EnumMap<>(Stage.class);
+
+    public GameMetrics() {
+        for (Stage stage : Stage.values()) {
+            latencies.put(stage, new LatencyHistogram());
+        }
+    }
+
+    @Override
+    public void stageCompleted(Stage stage, long elapsedNanos) {
+        latencies.get(stage).record(elapsedNanos);
+    }
+
+    @Override
+    public void gameScored(int totalScore, int numStrikes, int numSpares) {
+        numGames.increment();
+        this.numStrikes.add(numStrikes);
+        this.numSpares.add(numSpares);
+    }
+
+    @Override
+    public void gameFailed(String reason) {
+        numFailures.increment();
+    }
+
+    public long getNumGames() {
+        return numGames.sum();
+    }
+
+    public long getNumStrikes() {
+        return numStrikes.sum();
+    }
+
+    public long getNumSpares() {
+        return numSpares.sum();
+    }
+
+    // Games which failed to parse or validate, not included in the number of games
+    public long getNumFailures() {
+        return numFailures.sum();
+    }
+
+    public LatencyHistogram getLatency(Stage stage) {
+        return latencies.get(stage);
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append("Games: ").append(getNumGames())
+                .append(", strikes: ").append(getNumStrikes())
+                .append(", spares: ").append(getNumSpares())
+                .append(", failures: ").append(getNumFailures());
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram latency = latencies.get(stage);
+            if (latency.getCount() > 0) {
+                report.append('\n').append(stage).append(": ").append(latency);
+            }
+        }
+        return report.toString();
+    }
+
+    // Hands the report to the sink every period, until the returned future is cancelled
+    public ScheduledFuture<?> dumpPeriodically(ScheduledExecutorService executor, long period, TimeUnit unit,
+                                               Consumer<String> sink) {
+        return executor.scheduleAtFixedRate(() -> sink.accept(report()), period, period, unit);
+    }
+}
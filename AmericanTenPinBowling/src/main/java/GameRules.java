@@ -0,0 +1,92 @@
+/*
+ * Rules of a game format: number of frames, pins per rack, and strike and bonus rules.
+ *
+ * The scoring rules are the same as Game, with the rack and the frames of the format:
+ * STANDARD scores exactly as Game, a 9-pin tap strike is worth a full rack, and without bonuses
+ * a frame is only worth its own pins and the last frame ends without bonus throws.
+ * Baker is the standard game rolled by a team in turns, so it uses the STANDARD rules.
+ * Immutable. A descriptor is resolved once into LiveGames or a RulesScorer, which hold its
+ * values in final fields, so every format runs the same code as the standard game.
+ */
+public final class GameRules {
+
+    public static final int MAX_PINS = 10;
+
+    public static final GameRules STANDARD = new GameRules("standard", Game.MAX_FRAMES, MAX_PINS, MAX_PINS, true);
+
+    // 9 pins down on the 1st ball of a rack count as a strike
+    public static final GameRules NINE_PIN_TAP = new GameRules("9-pin tap", Game.MAX_FRAMES, MAX_PINS, 9, true);
+
+    private final String name;
+
+    private final int numFrames;
+
+    private final int numPins;
+
+    private final int strikePins;
+
+    private final boolean bonuses;
+
+    // strikePins are the pins on the 1st ball of a rack which count as a strike, numPins without tap
+    public GameRules(String name, int numFrames, int numPins, int strikePins, boolean bonuses) {
+        if (numFrames < 1) {
+            throw new IllegalArgumentException("Invalid number of frames: " + numFrames);
+        }
+        if (numPins < 1 || numPins > MAX_PINS) {
+            throw new IllegalArgumentException("Invalid number of pins: " + numPins);
+        }
+        if (strikePins < 1 || strikePins > numPins) {
+            throw new IllegalArgumentException("Invalid number of strike pins: " + strikePins);
+        }
+        this.name = name;
+        this.numFrames = numFrames;
+        this.numPins = numPins;
+        this.strikePins = strikePins;
+        this.bonuses = bonuses;
+    }
+
+    // Short practice format, the standard rules with fewer frames
+    public static GameRules practice(int numFrames) {
+        return new GameRules("practice " + numFrames, numFrames, MAX_PINS, MAX_PINS, true);
+    }
+
+    public LiveGame newGame() {
+        return new LiveGame(this);
+    }
+
+    public RulesScorer scorer() {
+        return new RulesScorer(this);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getNumFrames() {
+        return numFrames;
+    }
+
+    public int getNumPins() {
+        return numPins;
+    }
+
+    public int getStrikePins() {
+        return strikePins;
+    }
+
+    public boolean hasBonuses() {
+        return bonuses;
+    }
+
+    // Most rolls of a game: 2 per frame, but a last frame strike followed by up to 3 bonus throws
+    public int getMaxRolls() {
+        return 2 * numFrames + (bonuses ? 2 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + numFrames + " frames, " + numPins + " pins"
+                + (strikePins < numPins ? ", strike on " + strikePins : "")
+                + (bonuses ? "" : ", no bonus") + ")";
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Immutable copy of the state of a LiveGame, taken at once,
+ * so the frame scores always add up to the total score
+ */
+public class GameSnapshot {
+
+    private final int lane;
+
+    private final String player;
+
+    private final int[] frameScores;
+
+    private final int totalScore;
+
+    private final int currentFrame;
+
+    private final boolean gameOver;
+
+    GameSnapshot(int lane, String player, LiveGame game) {
+        this.lane = lane;
+        this.player = player;
+        this.frameScores = new int[game.getNumFrames()];
+        for (int i=0; i<frameScores.length; i++) {
+            frameScores[i] = game.getFrameScore(i);
+        }
+        this.totalScore = game.getTotalScore();
+        this.currentFrame = game.getCurrentFrame();
+        this.gameOver = game.isGameOver();
+    }
+
+    public int getLane() {
+        return lane;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public int getFrameScore(int frame) {
+        return frameScores[frame];
+    }
+
+    public int getNumFrames() {
+        return frameScores.length;
+    }
+
+    public int getTotalScore() {
+        return totalScore;
+    }
+
+    public int getCurrentFrame() {
+        return currentFrame;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    @Override
+    public String toString() {
+        return "Lane " + lane + " " + player + ": " + totalScore + (gameOver ? " (final)" : " (frame " + (currentFrame + 1) + ")");
+    }
+}
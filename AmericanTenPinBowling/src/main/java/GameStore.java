@@ -0,0 +1,290 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Off heap store of historical games, with their rolls and computed frame scores.
+ *
+ * Games are kept in a memory mapped file, so the store can be much larger than the heap
+ * and costs no GC work: a game is a fixed size record of 40 bytes, instead of the dozens
+ * of objects of a Game. The file starts with a header of MAGIC, VERSION and the number of
+ * games, followed by the records, game ids are their indexes:
+ *
+ *   total score (short), number of rolls, strikes and spares (bytes),
+ *   rolls (22 bytes), frame scores (10 bytes), padding
+ *
+ * The file is mapped in segments of whole records, which are added as the store grows.
+ * Once closed, the file is truncated under the mappings, so every method but close() and
+ * getNumGames() throws IllegalStateException rather than touching them.
+ * Standard games only. Not thread safe.
+ */
+public class GameStore implements Closeable {
+
+    public static final int MAGIC = 0x42574C48; // "BWLH"
+
+    public static final int VERSION = 1;
+
+    public static final int HEADER_SIZE = 16;
+
+    public static final int RECORD_SIZE = 40;
+
+    static final int MAX_ROLLS = GameRules.STANDARD.getMaxRolls();
+
+    private static final int TOTAL_SCORE = 0;
+
+    private static final int NUM_ROLLS = 2;
+
+    private static final int NUM_STRIKES = 3;
+
+    private static final int NUM_SPARES = 4;
+
+    private static final int ROLLS = 5;
+
+    private static final int FRAME_SCORES = ROLLS + MAX_ROLLS;
+
+    static final int DEFAULT_RECORDS_PER_SEGMENT = (1 << 30) / RECORD_SIZE;
+
+    // Called for every game of a scan, the arrays are reused for the next game
+    public interface GameVisitor {
+
+        void visit(long id, int[] rolls, int numRolls, int[] frameScores, int totalScore);
+    }
+
+    private final Path path;
+
+    private final FileChannel channel;
+
+    private final int recordsPerSegment;
+
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    // Null once closed
+    private MappedByteBuffer header;
+
+    private long numGames;
+
+    private boolean closed = false;
+
+    // Scores the games being appended
+    private final LiveGame game = new LiveGame();
+
+    private int numStrikes;
+
+    private int numSpares;
+
+    // Opens the store, or creates an empty one
+    public GameStore(Path path) throws IOException {
+        this(path, DEFAULT_RECORDS_PER_SEGMENT);
+    }
+
+    GameStore(Path path, int recordsPerSegment) throws IOException {
+        this.path = path;
+        this.recordsPerSegment = recordsPerSegment;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() == 0;
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (created) {
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putLong(8, 0);
+            } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a game store: " + path);
+            }
+
+            numGames = header.getLong(8);
+            long numSegments = (numGames + recordsPerSegment - 1) / recordsPerSegment;
+            for (long i=0; i<numSegments; i++) {
+                addSegment();
+            }
+        } catch (IOException ioe) {
+            channel.close();
+            throw ioe;
+        }
+
+        game.setListener(new GameListener() {
+            @Override
+            public void gameScored(int totalScore, int numStrikes, int numSpares) {
+                GameStore.this.numStrikes = numStrikes;
+                GameStore.this.numSpares = numSpares;
+            }
+        });
+    }
+
+    // Scores the rolls of a complete game and stores it, returns its id
+    public long append(int[] rolls, int numRolls) throws IOException {
+        checkOpen();
+        if (numRolls > MAX_ROLLS) {
+            throw new IllegalArgumentException("Too many rolls: " + numRolls);
+        }
+        game.reset();
+        for (int i=0; i<numRolls; i++) {
+            if (game.isGameOver()) {
+                throw new IllegalArgumentException("Too many rolls: " + numRolls);
+            }
+            game.roll(rolls[i]);
+        }
+        if (!game.isGameOver()) {
+            throw new IllegalArgumentException("Incomplete game: " + numRolls + " rolls");
+        }
+
+        long id = numGames;
+        if (id == (long) segments.size() * recordsPerSegment) {
+            addSegment();
+        }
+        MappedByteBuffer segment = segment(id);
+        int offset = offset(id);
+        segment.putShort(offset + TOTAL_SCORE, (short) game.getTotalScore());
+        segment.put(offset + NUM_ROLLS, (byte) numRolls);
+        segment.put(offset + NUM_STRIKES, (byte) numStrikes);
+        segment.put(offset + NUM_SPARES, (byte) numSpares);
+        for (int i=0; i<MAX_ROLLS; i++) {
+            segment.put(offset + ROLLS + i, (byte) (i < numRolls ? rolls[i] : 0));
+        }
+        for (int i=0; i<Game.MAX_FRAMES; i++) {
+            segment.put(offset + FRAME_SCORES + i, (byte) game.getFrameScore(i));
+        }
+
+        numGames = id + 1;
+        header.putLong(8, numGames);
+        return id;
+    }
+
+    // Appends all the games, returns the id of the first one. Nothing is appended if one is invalid.
+    public long append(int[][] games) throws IOException {
+        checkOpen();
+        long first = numGames;
+        try {
+            for (int[] rolls : games) {
+                append(rolls, rolls.length);
+            }
+        } catch (IllegalArgumentException iae) {
+            numGames = first;
+            header.putLong(8, numGames);
+            throw iae;
+        }
+        return first;
+    }
+
+    public long getNumGames() {
+        return numGames;
+    }
+
+    public int getTotalScore(long id) {
+        return segment(checkId(id)).getShort(offset(id) + TOTAL_SCORE);
+    }
+
+    public int getFrameScore(long id, int frame) {
+        if (frame < 0 || frame >= Game.MAX_FRAMES) {
+            throw new IndexOutOfBoundsException("Frame " + frame);
+        }
+        return segment(checkId(id)).get(offset(id) + FRAME_SCORES + frame);
+    }
+
+    public int getNumStrikes(long id) {
+        return segment(checkId(id)).get(offset(id) + NUM_STRIKES);
+    }
+
+    public int getNumSpares(long id) {
+        return segment(checkId(id)).get(offset(id) + NUM_SPARES);
+    }
+
+    // Copies the rolls of the game, returns their number
+    public int getRolls(long id, int[] rolls) {
+        MappedByteBuffer segment = segment(checkId(id));
+        int offset = offset(id);
+        int numRolls = segment.get(offset + NUM_ROLLS);
+        for (int i=0; i<numRolls; i++) {
+            rolls[i] = segment.get(offset + ROLLS + i);
+        }
+        return numRolls;
+    }
+
+    // Visits the games from id from, inclusive, to id to, exclusive, in order
+    public void scan(long from, long to, GameVisitor visitor) {
+        checkOpen();
+        if (from < 0 || to > numGames || from > to) {
+            throw new IndexOutOfBoundsException("Games " + from + " to " + to + " out of " + numGames);
+        }
+        int[] rolls = new int[MAX_ROLLS];
+        int[] frameScores = new int[Game.MAX_FRAMES];
+        for (long id=from; id<to; id++) {
+            MappedByteBuffer segment = segment(id);
+            int offset = offset(id);
+            int numRolls = segment.get(offset + NUM_ROLLS);
+            for (int i=0; i<numRolls; i++) {
+                rolls[i] = segment.get(offset + ROLLS + i);
+            }
+            for (int i=0; i<Game.MAX_FRAMES; i++) {
+                frameScores[i] = segment.get(offset + FRAME_SCORES + i);
+            }
+            visitor.visit(id, rolls, numRolls, frameScores, segment.getShort(offset + TOTAL_SCORE));
+        }
+    }
+
+    public void scan(GameVisitor visitor) {
+        scan(0, numGames, visitor);
+    }
+
+    // Writes the games appended so far to the file
+    public void sync() {
+        checkOpen();
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        header.force();
+    }
+
+    // The file is cut to the games, the last segment is mapped beyond them. Closing again does nothing.
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            sync();
+        } finally {
+            closed = true;
+            // Nothing reaches the mappings cut off by the truncation any more
+            segments.clear();
+            header = null;
+            try {
+                channel.truncate(HEADER_SIZE + numGames * RECORD_SIZE);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private void addSegment() throws IOException {
+        long position = HEADER_SIZE + (long) segments.size() * recordsPerSegment * RECORD_SIZE;
+        segments.add(channel.map(FileChannel.MapMode.READ_WRITE, position, (long) recordsPerSegment * RECORD_SIZE));
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Game store closed: " + path);
+        }
+    }
+
+    private long checkId(long id) {
+        checkOpen();
+        if (id < 0 || id >= numGames) {
+            throw new IndexOutOfBoundsException("Game " + id + " out of " + numGames + " in " + path);
+        }
+        return id;
+    }
+
+    private MappedByteBuffer segment(long id) {
+        return segments.get((int) (id / recordsPerSegment));
+    }
+
+    private int offset(long id) {
+        return (int) (id % recordsPerSegment) * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,147 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+ * Live games of many lanes and players at once, e.g. of a bowling center or a tournament.
+ *
+ * Every game has its own lock, so rolls on one lane never wait for another lane,
+ * and the lookup of a game is a lock free ConcurrentHashMap read.
+ * Snapshots are taken under the lock of the game, so they are always consistent.
+ * Score updates of all the games can be published to a ScoreStream, without slowing down the rolls.
+ * Displays read the cumulative frame scores from the Scoreboard of a game, without taking its lock.
+ * Thread safe.
+ */
+public class LaneSessionManager {
+
+    private final ConcurrentMap<Key, Session> sessions = new ConcurrentHashMap<>();
+
+    // Optional
+    private final ScoreStream stream;
+
+    public LaneSessionManager() {
+        this(null);
+    }
+
+    public LaneSessionManager(ScoreStream stream) {
+        this.stream = stream;
+    }
+
+    // Starts a new game, replacing a finished one of the same player on the lane
+    public void startGame(int lane, String player) {
+        Key key = new Key(lane, player);
+        sessions.compute(key, (k, session) -> {
+            if (session != null && !session.isGameOver()) {
+                throw new IllegalStateException("Game in progress: lane " + lane + " " + player);
+            }
+            Session started = new Session(lane, player);
+            if (stream != null) {
+                started.game.setListener(GameListener.all(started.scoreboard, stream.listener(lane, player)));
+            } else {
+                started.game.setListener(started.scoreboard);
+            }
+            return started;
+        });
+    }
+
+    // Returns the total score after the roll
+    public int roll(int lane, String player, int pins) {
+        return session(lane, player).roll(pins);
+    }
+
+    // Returns null if there is no such game
+    public GameSnapshot snapshot(int lane, String player) {
+        Session session = sessions.get(new Key(lane, player));
+        return session != null ? session.snapshot() : null;
+    }
+
+    // The live scoreboard of the game, updated by its rolls. Returns null if there is no such game.
+    public Scoreboard scoreboard(int lane, String player) {
+        Session session = sessions.get(new Key(lane, player));
+        return session != null ? session.scoreboard : null;
+    }
+
+    // Every snapshot is consistent on its own, games may progress while they are taken
+    public List<GameSnapshot> snapshots() {
+        List<GameSnapshot> snapshots = new ArrayList<>(sessions.size());
+        for (Session session : sessions.values()) {
+            snapshots.add(session.snapshot());
+        }
+        return snapshots;
+    }
+
+    // Removes the game and returns its last snapshot, or null if there is no such game
+    public GameSnapshot endGame(int lane, String player) {
+        Session session = sessions.remove(new Key(lane, player));
+        return session != null ? session.snapshot() : null;
+    }
+
+    public int getNumGames() {
+        return sessions.size();
+    }
+
+    private Session session(int lane, String player) {
+        Session session = sessions.get(new Key(lane, player));
+        if (session == null) {
+            throw new IllegalStateException("No game: lane " + lane + " " + player);
+        }
+        return session;
+    }
+
+    private static class Session {
+
+        private final int lane;
+
+        private final String player;
+
+        private final LiveGame game = new LiveGame();
+
+        private final Scoreboard scoreboard = new Scoreboard(game.getNumFrames());
+
+        Session(int lane, String player) {
+            this.lane = lane;
+            this.player = player;
+        }
+
+        synchronized int roll(int pins) {
+            game.roll(pins);
+            return game.getTotalScore();
+        }
+
+        synchronized boolean isGameOver() {
+            return game.isGameOver();
+        }
+
+        synchronized GameSnapshot snapshot() {
+            return new GameSnapshot(lane, player, game);
+        }
+    }
+
+    private static class Key {
+
+        private final int lane;
+
+        private final String player;
+
+        Key(int lane, String player) {
+            this.lane = lane;
+            this.player = Objects.requireNonNull(player);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return lane == key.lane && player.equals(key.player);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * lane + player.hashCode();
+        }
+    }
+}
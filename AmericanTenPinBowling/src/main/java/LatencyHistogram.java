@@ -0,0 +1,70 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Lock free histogram of latencies in nanoseconds.
+ *
+ * Bucket i counts the latencies below 2^i ns and at least 2^(i-1) ns, so recording is a few
+ * atomic adds, and percentiles are accurate within a factor of 2, which is enough to spot
+ * the stage a slowdown comes from.
+ */
+public class LatencyHistogram {
+
+    private static final int NUM_BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(NUM_BUCKETS - Long.numberOfLeadingZeros(nanos));
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMeanNanos() {
+        long n = count.sum();
+        return n > 0 ? totalNanos.sum() / n : 0;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    // Upper bound of the bucket of the given percentile, 0-100
+    public long getPercentileNanos(double percentile) {
+        long n = 0;
+        for (int i=0; i<NUM_BUCKETS; i++) {
+            n += buckets.get(i);
+        }
+        long rank = (long) Math.ceil(n * percentile / 100);
+
+        long seen = 0;
+        for (int i=0; i<NUM_BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank && seen > 0) {
+                return i == NUM_BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + " mean=" + getMeanNanos() + "ns p50<=" + getPercentileNanos(50)
+                + "ns p99<=" + getPercentileNanos(99) + "ns max=" + getMaxNanos() + "ns";
+    }
+}
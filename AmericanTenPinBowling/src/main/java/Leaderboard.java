@@ -0,0 +1,114 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Standings of all the games scored so far.
+ *
+ * A game scores 0 to 300, so instead of sorting the games, the number of games of every score
+ * is counted. Adding a game is a single atomic increment, and top-K, rank and percentile
+ * queries scan at most 301 counters whatever the number of games.
+ * Thread safe. Feed it from the scoring path as a GameListener, or add() the scores directly.
+ * As a listener it never throws into the scorer, scores out of range are counted and dropped.
+ * Queries made while games are added see some of them, not necessarily in order.
+ */
+public class Leaderboard implements GameListener {
+
+    public static final int MAX_GAME_SCORE = 300;
+
+    private final AtomicLongArray counts = new AtomicLongArray(MAX_GAME_SCORE + 1);
+
+    private final LongAdder numDropped = new LongAdder();
+
+    @Override
+    public void gameScored(int totalScore, int numStrikes, int numSpares) {
+        if (totalScore < 0 || totalScore > MAX_GAME_SCORE) {
+            numDropped.increment();
+            return;
+        }
+        counts.incrementAndGet(totalScore);
+    }
+
+    public void add(int score) {
+        if (score < 0 || score > MAX_GAME_SCORE) {
+            throw new IllegalArgumentException("Invalid score: " + score);
+        }
+        counts.incrementAndGet(score);
+    }
+
+    public long getNumGames() {
+        return countAbove(-1);
+    }
+
+    // Games scored out of range, which the listener did not add
+    public long getNumDropped() {
+        return numDropped.sum();
+    }
+
+    public long getCount(int score) {
+        return counts.get(score);
+    }
+
+    // The best k scores, highest first, fewer if there are not as many games
+    public int[] topK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Invalid k: " + k);
+        }
+        // Not larger than the games, games added meanwhile may be left out
+        int[] top = new int[(int) Math.min(k, getNumGames())];
+        int n = 0;
+        for (int score=MAX_GAME_SCORE; score>=0 && n<top.length; score--) {
+            long count = counts.get(score);
+            for (long i=0; i<count && n<top.length; i++) {
+                top[n++] = score;
+            }
+        }
+        if (n < top.length) {
+            int[] fewer = new int[n];
+            System.arraycopy(top, 0, fewer, 0, n);
+            return fewer;
+        }
+        return top;
+    }
+
+    // 1 for the best score, games with the same score share their rank
+    public long rank(int score) {
+        return countAbove(score) + 1;
+    }
+
+    // Percentage of the games with a lower score, 0-100
+    public double percentile(int score) {
+        // A single pass, so both counts see the same games
+        long numGames = 0;
+        long below = 0;
+        for (int i=0; i<=MAX_GAME_SCORE; i++) {
+            long count = counts.get(i);
+            numGames += count;
+            if (i < score) {
+                below += count;
+            }
+        }
+        return numGames > 0 ? 100.0 * below / numGames : 0;
+    }
+
+    // The lowest score at least the given percentage of the games reach or fall below, -1 if there are no games
+    public int scoreAtPercentile(double percentile) {
+        long numGames = getNumGames();
+        long rank = (long) Math.ceil(numGames * percentile / 100);
+        long seen = 0;
+        for (int score=0; score<=MAX_GAME_SCORE; score++) {
+            seen += counts.get(score);
+            if (seen >= rank && seen > 0) {
+                return score;
+            }
+        }
+        return -1;
+    }
+
+    private long countAbove(int score) {
+        long count = 0;
+        for (int i=Math.max(score + 1, 0); i<=MAX_GAME_SCORE; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+}
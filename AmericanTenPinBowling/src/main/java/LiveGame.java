@@ -0,0 +1,275 @@
+import java.util.Arrays;
+
+/*
+ * Live scoring of a game, one roll at a time.
+ *
+ * Every roll only updates the frames whose strike or spare bonus it resolves,
+ * so a roll and all the reads are constant time. The rules are the same as Game,
+ * i.e. a game rolled here scores the same as its tokens scored by ScoringEngine.
+ * Other formats only change the values of the final fields, see GameRules.
+ * The listener gets every change of a frame score as it happens, and the game once it is over.
+ * Not thread safe.
+ */
+public class LiveGame {
+
+    private final GameRules rules;
+
+    private final int maxScore; // pins of a full rack
+
+    private final int strikePins;
+
+    private final int lastFrame;
+
+    private final boolean bonuses;
+
+    private final int[] frameKind;
+
+    private final int[] frameFirst; // pins of the 1st attempt
+
+    private final int[] frameScores;
+
+    private final int[] bonusRolls = new int[2]; // the last frame strike bonus throws so far
+
+    private int frame = 0;
+
+    private int rollInFrame = 0;
+
+    private int numBonusRolls = 0;
+
+    private int totalScore = 0;
+
+    private boolean gameOver = false;
+
+    private GameListener listener = GameListener.NONE;
+
+    public LiveGame() {
+        this(GameRules.STANDARD);
+    }
+
+    public LiveGame(GameRules rules) {
+        this.rules = rules;
+        maxScore = rules.getNumPins();
+        strikePins = rules.getStrikePins();
+        lastFrame = rules.getNumFrames() - 1;
+        bonuses = rules.hasBonuses();
+        frameKind = new int[rules.getNumFrames()];
+        frameFirst = new int[rules.getNumFrames()];
+        frameScores = new int[rules.getNumFrames()];
+    }
+
+    public void setListener(GameListener listener) {
+        this.listener = listener != null ? listener : GameListener.NONE;
+    }
+
+    public void roll(int pins) {
+        if (gameOver) {
+            throw new IllegalStateException("Game is over");
+        }
+        if (!accept(pins)) {
+            throw new IllegalArgumentException("Invalid number of pins: " + pins);
+        }
+    }
+
+    // Rolls unless the pins are invalid, then nothing changes. The game must not be over.
+    boolean accept(int pins) {
+        if (pins < 0 || pins > maxScore) {
+            return false;
+        }
+        if (pins >= strikePins && pins < maxScore && isNewRack()) {
+            pins = maxScore; // tap, a strike is always worth a full rack
+        }
+
+        if (frame == lastFrame && rollInFrame > 0 && frameKind[frame] == ScoringEngine.STRIKE) {
+            return rollStrikeBonus(pins);
+        } else if (frame == lastFrame && rollInFrame > 1) {
+            // The last frame spare bonus throw
+            addFrameScore(frame, pins);
+            completeGame();
+        } else if (rollInFrame == 0) {
+            rollFirst(pins);
+        } else {
+            return rollSecond(pins);
+        }
+        return true;
+    }
+
+    // Starts a new game with the same rules and listener
+    public void reset() {
+        Arrays.fill(frameKind, ScoringEngine.OPEN);
+        Arrays.fill(frameScores, 0);
+        frame = 0;
+        rollInFrame = 0;
+        numBonusRolls = 0;
+        totalScore = 0;
+        gameOver = false;
+    }
+
+    public GameRules getRules() {
+        return rules;
+    }
+
+    public int getTotalScore() {
+        return totalScore;
+    }
+
+    // The score of a frame so far, bonuses are added once the rolls they depend on are known
+    public int getFrameScore(int frame) {
+        return frameScores[frame];
+    }
+
+    public int getNumFrames() {
+        return frameScores.length;
+    }
+
+    // Index of the frame being played, starting at 0
+    public int getCurrentFrame() {
+        return frame;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    // Whether the next roll is the 1st ball at a full rack
+    boolean isNewRack() {
+        if (rollInFrame == 0) {
+            return true;
+        } else if (frame != lastFrame) {
+            return false;
+        } else if (frameKind[frame] == ScoringEngine.STRIKE) {
+            return numBonusRolls == 0 || numBonusRolls == 1 && bonusRolls[0] == maxScore;
+        }
+        return rollInFrame > 1;
+    }
+
+    // Whether the game waits for the bonus throws of its last frame
+    boolean isInBonus() {
+        return frame == lastFrame && (rollInFrame > 1 || rollInFrame > 0 && frameKind[frame] == ScoringEngine.STRIKE);
+    }
+
+    private void rollFirst(int pins) {
+        frameFirst[frame] = pins;
+        addFrameScore(frame, pins);
+
+        int previous = frame - 1;
+        int beforePrevious = frame - 2;
+
+        // Next strike is worth max score, otherwise the 1st attempt is added
+        if (bonuses && previous >= 0 && frameKind[previous] == ScoringEngine.SPARE) {
+            addFrameScore(previous, pins == maxScore ? maxScore : frameFirst[previous]);
+        }
+
+        if (pins != maxScore) {
+            rollInFrame = 1;
+            return;
+        }
+
+        frameKind[frame] = ScoringEngine.STRIKE;
+        if (bonuses && beforePrevious >= 0 && frameKind[beforePrevious] == ScoringEngine.STRIKE
+                && frameKind[previous] == ScoringEngine.STRIKE) {
+            addFrameScore(beforePrevious, maxScore + maxScore);
+        }
+        if (frame == lastFrame) {
+            if (!bonuses) {
+                completeGame();
+                return;
+            }
+            // The frame before last strike followed by a strike, add 1st attempt
+            if (previous >= 0 && frameKind[previous] == ScoringEngine.STRIKE) {
+                addFrameScore(previous, maxScore + maxScore);
+            }
+            rollInFrame = 1;
+        } else {
+            frame++;
+        }
+    }
+
+    private boolean rollSecond(int pins) {
+        int first = frameFirst[frame];
+        if (first + pins > maxScore) {
+            return false;
+        }
+        addFrameScore(frame, pins);
+
+        int kind = first + pins == maxScore ? ScoringEngine.SPARE : ScoringEngine.OPEN;
+        frameKind[frame] = kind;
+
+        int previous = frame - 1;
+        int beforePrevious = frame - 2;
+        if (bonuses && beforePrevious >= 0 && frameKind[beforePrevious] == ScoringEngine.STRIKE
+                && frameKind[previous] == ScoringEngine.STRIKE) {
+            addFrameScore(beforePrevious, kind == ScoringEngine.SPARE ? maxScore + maxScore : maxScore + first + pins);
+        }
+        if (bonuses && previous >= 0 && frameKind[previous] == ScoringEngine.STRIKE) {
+            addFrameScore(previous, kind == ScoringEngine.SPARE ? maxScore : first + pins);
+        }
+
+        if (frame < lastFrame) {
+            frame++;
+            rollInFrame = 0;
+        } else if (kind == ScoringEngine.OPEN || !bonuses) {
+            completeGame();
+        } else {
+            rollInFrame = 2; // wait for the bonus throw
+        }
+        return true;
+    }
+
+    // The last frame strike expects 2 more throws, a strike in the 1st one is followed by 2 more
+    private boolean rollStrikeBonus(int pins) {
+        if (numBonusRolls == 0) {
+            bonusRolls[numBonusRolls++] = pins;
+            return true;
+        }
+
+        int first = bonusRolls[0];
+        if (numBonusRolls == 1 && first == maxScore) {
+            if (pins == maxScore) {
+                completeStrikeBonus(maxScore);
+            } else {
+                bonusRolls[numBonusRolls++] = pins;
+            }
+            return true;
+        }
+
+        // The last two bonus throws are a spare or regular result
+        int previous = bonusRolls[numBonusRolls-1];
+        if (previous + pins > maxScore) {
+            return false;
+        }
+        if (numBonusRolls == 1) {
+            // A spare results in maximum points. i.e. 10
+            completeStrikeBonus(previous + pins);
+        } else {
+            // A spare after a strike only adds its 1st attempt
+            completeStrikeBonus(previous + pins == maxScore ? previous : previous + pins);
+        }
+        return true;
+    }
+
+    private void completeStrikeBonus(int bonus) {
+        addFrameScore(lastFrame, maxScore + bonus);
+        completeGame();
+    }
+
+    private void completeGame() {
+        gameOver = true;
+
+        int numStrikes = 0;
+        int numSpares = 0;
+        for (int i=0; i<frameKind.length; i++) {
+            if (frameKind[i] == ScoringEngine.STRIKE) {
+                numStrikes++;
+            } else if (frameKind[i] == ScoringEngine.SPARE) {
+                numSpares++;
+            }
+        }
+        listener.gameScored(totalScore, numStrikes, numSpares);
+    }
+
+    private void addFrameScore(int frame, int score) {
+        frameScores[frame] += score;
+        totalScore += score;
+        listener.frameScored(frame, frameScores[frame], totalScore);
+    }
+}
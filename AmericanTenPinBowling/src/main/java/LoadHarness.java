@@ -0,0 +1,271 @@
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Sustained load against the scoring path, to find what short benchmarks miss:
+ * throughput drifting over minutes, latency outliers and GC pauses.
+ *
+ * Every worker thread scores games of its own GameGenerator back to back, cycling through
+ * a pool generated up front, so the measurements are of scoring only. One game out of
+ * SAMPLE_INTERVAL is timed into a LatencyHistogram, which keeps the timer and the shared
+ * histogram off most games. Every interval a line reports the throughput, the latency
+ * percentiles, and the collections, GC time, allocation rate and heap used since the last one.
+ */
+public class LoadHarness {
+
+    public enum Mode {
+        ENGINE, // ScoringEngine on tokens, as Game.main()
+        LINE, // BatchScorer on lines of text, as the ScoringServer
+        GAME // Game and its Frame objects, after ScoringEngine validated the tokens as Game.main()
+    }
+
+    static final int POOL_SIZE = 1 << 16;
+
+    private static final int SAMPLE_INTERVAL = 16;
+
+    private final Mode mode;
+
+    private final int numThreads;
+
+    private final long seed;
+
+    private final double malformedFraction;
+
+    private final LongAdder numGames = new LongAdder();
+
+    private final LongAdder numInvalid = new LongAdder();
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    // Of the current interval, replaced by every report
+    private volatile LatencyHistogram intervalLatencies = new LatencyHistogram();
+
+    private volatile boolean stopped;
+
+    public LoadHarness(Mode mode, int numThreads, long seed, double malformedFraction) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.mode = mode;
+        this.numThreads = numThreads;
+        this.seed = seed;
+        this.malformedFraction = malformedFraction;
+    }
+
+    // Runs the load for the duration, reporting every interval
+    public void run(long duration, long interval, TimeUnit unit, PrintStream out) throws InterruptedException {
+        stopped = false;
+        List<Thread> workers = new ArrayList<>(numThreads);
+        for (int i=0; i<numThreads; i++) {
+            Worker worker = new Worker(new GameGenerator(seed + i, malformedFraction,
+                    GameGenerator.Skill.BEGINNER, GameGenerator.Skill.LEAGUE, GameGenerator.Skill.PRO));
+            Thread thread = new Thread(worker, "load-" + i);
+            thread.setDaemon(true);
+            workers.add(thread);
+        }
+
+        long[] threadIds = new long[numThreads];
+        for (int i=0; i<numThreads; i++) {
+            threadIds[i] = workers.get(i).getId();
+        }
+        out.println("Scoring " + mode + " on " + numThreads + " threads for " + duration + " " + unit.toString().toLowerCase());
+        out.println("    time      games/s  invalid    p50<=     p99<=   p99.9<=       max   gc  gc ms  alloc MB/s  heap MB");
+
+        GcSample previous = new GcSample(threadIds);
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+
+        long end = start + unit.toNanos(duration);
+        long previousGames = 0;
+        long previousTime = start;
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                if (now >= end) {
+                    break;
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.min(unit.toNanos(interval), end - now));
+
+                long time = System.nanoTime();
+                LatencyHistogram sample = intervalLatencies;
+                intervalLatencies = new LatencyHistogram();
+                long games = numGames.sum();
+                GcSample gc = new GcSample(threadIds);
+                out.println(report(time - start, games - previousGames, time - previousTime, sample, previous, gc));
+                previous = gc;
+                previousGames = games;
+                previousTime = time;
+            }
+        } finally {
+            stopped = true;
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        out.println("Scored " + getNumGames() + " games, " + getNumInvalid() + " invalid, "
+                + (long) (getNumGames() * 1e9 / elapsedNanos) + " games/s, latency " + latencies);
+    }
+
+    public long getNumGames() {
+        return numGames.sum();
+    }
+
+    public long getNumInvalid() {
+        return numInvalid.sum();
+    }
+
+    // Of the sampled games of the whole run
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    private String report(long elapsedNanos, long games, long intervalNanos, LatencyHistogram sample,
+                          GcSample previous, GcSample gc) {
+        double seconds = intervalNanos / 1e9;
+        double invalid = numGames.sum() > 0 ? 100.0 * numInvalid.sum() / numGames.sum() : 0;
+        return String.format("%7.1fs %12d %7.2f%% %8dns %8dns %8dns %8dns %4d %6d %11.1f %8d",
+                elapsedNanos / 1e9, (long) (games / seconds), invalid,
+                sample.getPercentileNanos(50), sample.getPercentileNanos(99), sample.getPercentileNanos(99.9),
+                sample.getMaxNanos(), gc.collections - previous.collections, gc.gcMillis - previous.gcMillis,
+                (gc.allocatedBytes - previous.allocatedBytes) / seconds / (1 << 20), gc.heapBytes >> 20);
+    }
+
+    // Collections, GC time and allocations since the start of the JVM
+    private static class GcSample {
+
+        private long collections;
+
+        private long gcMillis;
+
+        private final long allocatedBytes;
+
+        private final long heapBytes;
+
+        GcSample(long[] threadIds) {
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                collections += Math.max(collector.getCollectionCount(), 0);
+                gcMillis += Math.max(collector.getCollectionTime(), 0);
+            }
+            heapBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+            // Not all JVMs count allocations
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            long allocated = 0;
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                for (long bytes : ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadIds)) {
+                    allocated += Math.max(bytes, 0);
+                }
+            }
+            allocatedBytes = allocated;
+        }
+    }
+
+    private class Worker implements Runnable {
+
+        private final String[][] games = new String[POOL_SIZE][];
+
+        private final String[] lines = new String[POOL_SIZE];
+
+        private final ScoringEngine engine = new ScoringEngine();
+
+        private final BatchScorer scorer = new BatchScorer();
+
+        private final Game game = new Game(ScoringEngine.MAX_TOKENS);
+
+        Worker(GameGenerator generator) {
+            String[] tokens = new String[GameGenerator.MAX_TOKENS];
+            for (int i=0; i<POOL_SIZE; i++) {
+                games[i] = Arrays.copyOf(tokens, generator.nextGame(tokens));
+                lines[i] = String.join(" ", games[i]);
+            }
+        }
+
+        @Override
+        public void run() {
+            int next = 0;
+            while (!stopped) {
+                int invalid = 0;
+                for (int i=1; i<SAMPLE_INTERVAL; i++) {
+                    invalid += score(next);
+                    next = (next + 1) & (POOL_SIZE - 1);
+                }
+
+                long start = System.nanoTime();
+                invalid += score(next);
+                long elapsedNanos = System.nanoTime() - start;
+                next = (next + 1) & (POOL_SIZE - 1);
+
+                latencies.record(elapsedNanos);
+                intervalLatencies.record(elapsedNanos);
+                numGames.add(SAMPLE_INTERVAL);
+                if (invalid > 0) {
+                    numInvalid.add(invalid);
+                }
+            }
+        }
+
+        // Returns 1 if the game is invalid
+        private int score(int i) {
+            switch (mode) {
+                case ENGINE:
+                    return ScoreCode.isValid(engine.scoreCode(games[i], games[i].length)) ? 0 : 1;
+                case LINE:
+                    long numInvalid = scorer.getNumInvalid();
+                    scorer.scoreLine(lines[i]);
+                    return (int) (scorer.getNumInvalid() - numInvalid);
+                default:
+                    if (!ScoreCode.isValid(engine.scoreCode(games[i], games[i].length))) {
+                        return 1;
+                    }
+                    game.reset();
+                    game.start(games[i]);
+                    return 0;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 1 || args.length > 5) {
+            System.err.println("Usage: LoadHarness <seconds> [number of threads] [engine|line|game] [malformed fraction] [seed]");
+            return;
+        }
+
+        long seconds;
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        Mode mode = Mode.ENGINE;
+        double malformedFraction = 0.01;
+        long seed = 1;
+        try {
+            seconds = Long.parseLong(args[0]);
+            if (args.length > 1) {
+                numThreads = Integer.parseInt(args[1]);
+            }
+            if (args.length > 2) {
+                mode = Mode.valueOf(args[2].toUpperCase());
+            }
+            if (args.length > 3) {
+                malformedFraction = Double.parseDouble(args[3]);
+            }
+            if (args.length > 4) {
+                seed = Long.parseLong(args[4]);
+            }
+        } catch (IllegalArgumentException iae) {
+            // Also a NumberFormatException
+            System.err.println("Invalid argument: " + iae.getMessage());
+            return;
+        }
+
+        new LoadHarness(mode, numThreads, seed, malformedFraction).run(seconds, 1, TimeUnit.SECONDS, System.out);
+    }
+}
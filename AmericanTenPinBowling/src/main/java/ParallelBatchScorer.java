@@ -0,0 +1,188 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * Same as BatchScorer, but the lines are split into chunks which are scored on a pool of worker threads.
+ *
+ * The output keeps the input order: chunks are written in the order they were read.
+ * At most 2 chunks per worker are in flight, so memory use stays bounded.
+ */
+public class ParallelBatchScorer {
+
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private final int numWorkers;
+
+    private final int chunkSize;
+
+    // Every worker thread gets its own scorer, as they are not thread safe
+    private final ScorerPool<BatchScorer> scorers;
+
+    private long numGames = 0;
+
+    private long numInvalid = 0;
+
+    public ParallelBatchScorer(int numWorkers) {
+        this(numWorkers, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelBatchScorer(int numWorkers, int chunkSize) {
+        this(numWorkers, chunkSize, GameListener.NONE);
+    }
+
+    // The listener is shared by all the workers, so it must be thread safe, e.g. GameMetrics
+    public ParallelBatchScorer(int numWorkers, int chunkSize, GameListener listener) {
+        this(numWorkers, chunkSize, listener, null);
+    }
+
+    // The cache is optional and shared by all the workers
+    public ParallelBatchScorer(int numWorkers, int chunkSize, GameListener listener, ScoreCache cache) {
+        if (numWorkers < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Number of workers and chunk size must be positive");
+        }
+        this.numWorkers = numWorkers;
+        this.chunkSize = chunkSize;
+        // Only their counts carry over from chunk to chunk, and they are read as differences
+        this.scorers = new ScorerPool<>(() -> new BatchScorer(listener, cache), scorer -> {});
+    }
+
+    public void score(BufferedReader reader, Writer writer) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(numWorkers);
+        Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+        int maxInFlight = 2 * numWorkers;
+
+        try {
+            String[] lines;
+            while ((lines = readChunk(reader)) != null) {
+                if (inFlight.size() == maxInFlight) {
+                    write(inFlight.poll(), writer);
+                }
+                String[] chunk = lines;
+                inFlight.add(executor.submit(() -> scoreChunk(chunk)));
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.poll(), writer);
+            }
+            writer.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public long getNumGames() {
+        return numGames;
+    }
+
+    public long getNumInvalid() {
+        return numInvalid;
+    }
+
+    private String[] readChunk(BufferedReader reader) throws IOException {
+        String[] lines = new String[chunkSize];
+        int numLines = 0;
+        String line;
+        while (numLines < chunkSize && (line = reader.readLine()) != null) {
+            lines[numLines++] = line;
+        }
+
+        if (numLines == 0) {
+            return null;
+        }
+        if (numLines < chunkSize) {
+            String[] last = new String[numLines];
+            System.arraycopy(lines, 0, last, 0, numLines);
+            return last;
+        }
+        return lines;
+    }
+
+    private Chunk scoreChunk(String[] lines) {
+        BatchScorer scorer = scorers.acquire();
+        long invalidBefore = scorer.getNumInvalid();
+
+        // The lines are replaced by their results
+        for (int i=0; i<lines.length; i++) {
+            lines[i] = scorer.scoreLine(lines[i]);
+        }
+        return new Chunk(lines, scorer.getNumInvalid() - invalidBefore);
+    }
+
+    private void write(Future<Chunk> future, Writer writer) throws IOException {
+        Chunk chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while scoring", ie);
+        } catch (ExecutionException ee) {
+            throw new IOException("Failed to score chunk", ee.getCause());
+        }
+
+        for (String result : chunk.results) {
+            writer.write(result);
+            writer.write('\n');
+        }
+        numGames += chunk.results.length;
+        numInvalid += chunk.numInvalid;
+    }
+
+    private static class Chunk {
+
+        private final String[] results;
+
+        private final long numInvalid;
+
+        Chunk(String[] results, long numInvalid) {
+            this.results = results;
+            this.numInvalid = numInvalid;
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2 && args.length != 3) {
+            System.err.println("Usage: ParallelBatchScorer <input file> <output file> [number of workers]");
+            return;
+        }
+
+        int numWorkers = Runtime.getRuntime().availableProcessors();
+        if (args.length == 3) {
+            try {
+                numWorkers = Integer.parseInt(args[2]);
+            } catch (NumberFormatException nfe) {
+                System.err.println("Invalid number of workers: " + args[2]);
+                return;
+            }
+        }
+
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+        GameMetrics metrics = new GameMetrics();
+        ParallelBatchScorer scorer = new ParallelBatchScorer(numWorkers, DEFAULT_CHUNK_SIZE, metrics);
+
+        long start = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.ISO_8859_1);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.ISO_8859_1)) {
+            scorer.score(reader, writer);
+        } catch (IOException ioe) {
+            System.err.println("Failed to score " + input + ": " + ioe.getMessage());
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(BatchScorer.report(scorer.getNumGames(), scorer.getNumInvalid(), elapsed)
+                + " on " + numWorkers + " workers");
+        System.out.println(metrics.report());
+    }
+}
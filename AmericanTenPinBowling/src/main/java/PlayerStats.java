@@ -0,0 +1,155 @@
+/*
+ * Statistics of all the games of a player, built one game at a time in constant memory.
+ *
+ * Only the 10 frames of a game are counted, not the bonus throws of the 10th frame.
+ * Statistics of the same player from different parts of a history can be merged.
+ * Not thread safe.
+ */
+public class PlayerStats {
+
+    private static final int MAX_SCORE = 10;
+
+    private final String player;
+
+    private long numGames = 0;
+
+    private long totalScore = 0;
+
+    private int highScore = 0;
+
+    private long numFrames = 0;
+
+    private long numStrikes = 0;
+
+    private long numSpares = 0;
+
+    private long numOpenFrames = 0;
+
+    private long firstBallPins = 0;
+
+    // The outcomes of the 10th frame
+    private long numTenthStrikes = 0;
+
+    private long numTenthSpares = 0;
+
+    private long numTenthOpenFrames = 0;
+
+    public PlayerStats(String player) {
+        this.player = player;
+    }
+
+    // Adds a valid game given as FrameLexer results, and its total score
+    public void addGame(int[] results, int numResults, int score) {
+        numGames++;
+        totalScore += score;
+        highScore = Math.max(highScore, score);
+
+        int numGameFrames = Math.min(numResults, Game.MAX_FRAMES);
+        for (int i=0; i<numGameFrames; i++) {
+            int result = results[i];
+            int kind = FrameLexer.kind(result);
+            numFrames++;
+            if (kind == FrameLexer.STRIKE) {
+                numStrikes++;
+                firstBallPins += MAX_SCORE;
+            } else if (kind == FrameLexer.SPARE || kind == FrameLexer.LAST_SPARE) {
+                numSpares++;
+                firstBallPins += FrameLexer.first(result);
+            } else {
+                numOpenFrames++;
+                firstBallPins += FrameLexer.first(result);
+            }
+
+            if (i == Game.MAX_FRAMES-1) {
+                if (kind == FrameLexer.STRIKE) {
+                    numTenthStrikes++;
+                } else if (kind == FrameLexer.SPARE || kind == FrameLexer.LAST_SPARE) {
+                    numTenthSpares++;
+                } else {
+                    numTenthOpenFrames++;
+                }
+            }
+        }
+    }
+
+    // Adds the games of the same player from another part of the history
+    public void merge(PlayerStats other) {
+        if (!player.equals(other.player)) {
+            throw new IllegalArgumentException("Cannot merge " + other.player + " into " + player);
+        }
+        numGames += other.numGames;
+        totalScore += other.totalScore;
+        highScore = Math.max(highScore, other.highScore);
+        numFrames += other.numFrames;
+        numStrikes += other.numStrikes;
+        numSpares += other.numSpares;
+        numOpenFrames += other.numOpenFrames;
+        firstBallPins += other.firstBallPins;
+        numTenthStrikes += other.numTenthStrikes;
+        numTenthSpares += other.numTenthSpares;
+        numTenthOpenFrames += other.numTenthOpenFrames;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public long getNumGames() {
+        return numGames;
+    }
+
+    public int getHighScore() {
+        return highScore;
+    }
+
+    public double getAverageScore() {
+        return ratio(totalScore, numGames);
+    }
+
+    public long getNumFrames() {
+        return numFrames;
+    }
+
+    // Strikes per frame
+    public double getStrikeRate() {
+        return ratio(numStrikes, numFrames);
+    }
+
+    // Spares per frame without a strike, i.e. with a chance to convert
+    public double getSpareConversionRate() {
+        return ratio(numSpares, numFrames - numStrikes);
+    }
+
+    public double getOpenFrameRate() {
+        return ratio(numOpenFrames, numFrames);
+    }
+
+    public double getFirstBallAverage() {
+        return ratio(firstBallPins, numFrames);
+    }
+
+    public long getNumTenthStrikes() {
+        return numTenthStrikes;
+    }
+
+    public long getNumTenthSpares() {
+        return numTenthSpares;
+    }
+
+    public long getNumTenthOpenFrames() {
+        return numTenthOpenFrames;
+    }
+
+    private static double ratio(long count, long total) {
+        return total > 0 ? (double) count / total : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d games, average %.1f, high %d, strikes %.1f%%, spares converted %.1f%%, "
+                        + "open %.1f%%, first ball %.2f, 10th frame %d/%d/%d strike/spare/open",
+                player, numGames, getAverageScore(), highScore, 100 * getStrikeRate(),
+                100 * getSpareConversionRate(), 100 * getOpenFrameRate(), getFirstBallAverage(),
+                numTenthStrikes, numTenthSpares, numTenthOpenFrames);
+    }
+}
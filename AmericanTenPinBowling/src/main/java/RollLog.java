@@ -0,0 +1,259 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Append only, memory mapped log of rolls.
+ *
+ * The file starts with a header of MAGIC, VERSION and the generation of the log,
+ * followed by fixed size records of 16 bytes:
+ *
+ *   lane (int), game (int), frame (byte), pins (byte), 0 (short), checksum (int)
+ *
+ * An append is a few writes into the mapped file, without any system call.
+ * Records are made durable by group commit: a background thread forces all the records
+ * appended since the last commit at once, every commit interval, see sync().
+ * The checksum covers the generation and the index of the record, so replay stops
+ * at the first torn record, or at the first stale one of a previous generation.
+ * Thread safe.
+ */
+public class RollLog implements Closeable {
+
+    public static final int MAGIC = 0x42574C52; // "BWLR"
+
+    public static final int VERSION = 1;
+
+    public static final int HEADER_SIZE = 16;
+
+    public static final int RECORD_SIZE = 16;
+
+    // The generation of a log which was never reset
+    public static final int NO_GENERATION = -1;
+
+    private static final int INITIAL_RECORDS = 1 << 16;
+
+    // Called for every record of the log, in the order they were appended
+    public interface RollConsumer {
+
+        void roll(int lane, int game, int frame, int pins) throws IOException;
+    }
+
+    private final Path path;
+
+    private final FileChannel channel;
+
+    private final ScheduledExecutorService committer;
+
+    private MappedByteBuffer buffer;
+
+    private int generation;
+
+    private long numRecords;
+
+    private long numDurable;
+
+    // Total number of forces, many appends share one
+    private long numCommits = 0;
+
+    private boolean closed = false;
+
+    // Records are only made durable by sync() if the commit interval is 0
+    public RollLog(Path path, long commitInterval, TimeUnit unit) throws IOException {
+        if (commitInterval < 0) {
+            throw new IllegalArgumentException("Commit interval must not be negative");
+        }
+        this.path = path;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size == 0) {
+                map(INITIAL_RECORDS);
+                generation = NO_GENERATION;
+                writeHeader(generation);
+            } else {
+                map(Math.max(INITIAL_RECORDS, (size - HEADER_SIZE) / RECORD_SIZE));
+                if (size < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                    throw new IOException("Not a roll log: " + path);
+                }
+                generation = buffer.getInt(8);
+                numRecords = countValid();
+            }
+        } catch (IOException ioe) {
+            channel.close();
+            throw ioe;
+        }
+        numDurable = numRecords;
+
+        if (commitInterval > 0) {
+            committer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "RollLog committer " + path.getFileName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            committer.scheduleWithFixedDelay(this::commit, commitInterval, commitInterval, unit);
+        } else {
+            committer = null;
+        }
+    }
+
+    // Returns the index of the record, it is durable after the next commit
+    public synchronized long append(int lane, int game, int frame, int pins) throws IOException {
+        if (closed) {
+            throw new IOException("Roll log is closed: " + path);
+        }
+        long offset = HEADER_SIZE + numRecords * RECORD_SIZE;
+        if (offset + RECORD_SIZE > buffer.capacity()) {
+            map(2 * (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE);
+        }
+
+        int index = (int) offset;
+        buffer.putInt(index, lane);
+        buffer.putInt(index + 4, game);
+        buffer.put(index + 8, (byte) frame);
+        buffer.put(index + 9, (byte) pins);
+        buffer.putShort(index + 10, (short) 0);
+        buffer.putInt(index + 12, checksum(generation, numRecords, lane, game, frame, pins));
+        return numRecords++;
+    }
+
+    // Replays the valid records, stops at the first invalid one
+    public void replay(RollConsumer consumer) throws IOException {
+        long count;
+        MappedByteBuffer records;
+        synchronized (this) {
+            count = numRecords;
+            records = buffer;
+        }
+        for (long i=0; i<count; i++) {
+            int index = (int) (HEADER_SIZE + i * RECORD_SIZE);
+            consumer.roll(records.getInt(index), records.getInt(index + 4),
+                    records.get(index + 8), records.get(index + 9));
+        }
+    }
+
+    // Makes all the records appended so far durable, in the calling thread
+    public void sync() {
+        commit();
+    }
+
+    // Starts over with no records, those of the previous generation become invalid
+    public synchronized void reset(int generation) {
+        this.generation = generation;
+        writeHeader(generation);
+        numRecords = 0;
+        numDurable = 0;
+    }
+
+    public synchronized int getGeneration() {
+        return generation;
+    }
+
+    public synchronized long getNumRecords() {
+        return numRecords;
+    }
+
+    public synchronized long getNumDurable() {
+        return numDurable;
+    }
+
+    public synchronized long getNumCommits() {
+        return numCommits;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (committer != null) {
+            committer.shutdown();
+        }
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            force(buffer, numDurable, numRecords);
+            numDurable = numRecords;
+            closed = true;
+            channel.close();
+        }
+    }
+
+    private void commit() {
+        long from;
+        long to;
+        int committed;
+        MappedByteBuffer records;
+        synchronized (this) {
+            if (closed || numDurable == numRecords) {
+                return;
+            }
+            from = numDurable;
+            to = numRecords;
+            committed = generation;
+            records = buffer;
+        }
+
+        // Forced without the lock, so appends go on meanwhile and are part of the next commit
+        force(records, from, to);
+        synchronized (this) {
+            if (generation == committed && numDurable < to) {
+                numDurable = to;
+            }
+            numCommits++;
+        }
+    }
+
+    private static void force(MappedByteBuffer records, long from, long to) {
+        if (from < to) {
+            records.force((int) (HEADER_SIZE + from * RECORD_SIZE), (int) ((to - from) * RECORD_SIZE));
+        }
+    }
+
+    private void writeHeader(int generation) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, generation);
+        buffer.putInt(12, 0);
+        buffer.force(0, HEADER_SIZE);
+    }
+
+    private long countValid() {
+        long maxRecords = (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE;
+        long count = 0;
+        while (count < maxRecords) {
+            int index = (int) (HEADER_SIZE + count * RECORD_SIZE);
+            int checksum = checksum(generation, count, buffer.getInt(index), buffer.getInt(index + 4),
+                    buffer.get(index + 8), buffer.get(index + 9));
+            if (buffer.getShort(index + 10) != 0 || buffer.getInt(index + 12) != checksum) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private void map(long maxRecords) throws IOException {
+        long size = HEADER_SIZE + maxRecords * RECORD_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Roll log is full: " + path);
+        }
+        // Mapping beyond the end grows the file, the new records are zeros, i.e. invalid
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    // Never 0, so the zeros of a new file are never a valid record
+    static int checksum(int generation, long index, int lane, int game, int frame, int pins) {
+        int h = generation * 0x9E3779B9 + (int) index;
+        h = h * 31 + lane;
+        h = h * 31 + game;
+        h = h * 31 + ((frame & 0xFF) << 8 | (pins & 0xFF));
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h != 0 ? h : 1;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Scores whole games of rolls, the pins of each ball, by the rules of one format.
+ *
+ * Resolved once from GameRules, it keeps a single LiveGame for all the games,
+ * so scoring neither allocates nor throws. Not thread safe.
+ */
+public class RulesScorer {
+
+    private final LiveGame game;
+
+    RulesScorer(GameRules rules) {
+        game = new LiveGame(rules);
+    }
+
+    public GameRules getRules() {
+        return game.getRules();
+    }
+
+    // Returns a ScoreCode, the token index of an error is the index of the roll
+    public int scoreCode(int[] rolls, int numRolls) {
+        game.reset();
+        for (int i=0; i<numRolls; i++) {
+            if (game.isGameOver()) {
+                return ScoreCode.invalid(ValidationError.INVALID_NUMBER_OF_FRAMES, i);
+            }
+            if (!game.accept(rolls[i])) {
+                return ScoreCode.invalid(rolls[i] < 0 ? ValidationError.INVALID_RESULT : ValidationError.TOO_MANY_PINS, i);
+            }
+        }
+
+        if (!game.isGameOver()) {
+            return ScoreCode.invalid(game.isInBonus() ? ValidationError.MISSING_BONUS
+                    : ValidationError.INVALID_NUMBER_OF_FRAMES, numRolls);
+        }
+        return ScoreCode.valid(game.getTotalScore());
+    }
+
+    public ScoreResult scoreGame(int[] rolls) {
+        return ScoreCode.toResult(scoreCode(rolls, rolls.length));
+    }
+}
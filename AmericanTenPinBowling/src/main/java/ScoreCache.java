@@ -0,0 +1,174 @@
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Bounded cache of game scores, for inputs where the same games repeat, e.g. perfect games or drills.
+ *
+ * The key is the GameArchive encoding of the tokens, one nibble per symbol packed into two longs,
+ * so it is compact and only depends on the pins of the frames. Building it only classifies
+ * the tokens, without any of the frame scoring.
+ * Entries are immutable and kept in a lock free table of sets of 2, most recently used first.
+ * A new entry replaces the least recently used one of its set, a hit on the second one
+ * swaps the two, so hot games stay and hits on the first one cost no writes.
+ * Every thread scores the misses with its own ScoringEngine.
+ * Hits are not reported to the listener of the engine, see getHits().
+ */
+public class ScoreCache {
+
+    private static final int WAYS = 2;
+
+    // Symbols of a game which fit into the key
+    private static final int MAX_SYMBOLS = 2 * Long.SIZE / 4;
+
+    private final AtomicReferenceArray<Entry> entries;
+
+    private final int setMask;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    // The capacity is rounded up to a power of 2
+    public ScoreCache(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        int numSets = Math.max(1, Integer.highestOneBit(capacity * 2 - 1) / WAYS);
+        entries = new AtomicReferenceArray<>(numSets * WAYS);
+        setMask = numSets - 1;
+    }
+
+    // Same as ScoringEngine.scoreGame(), invalid games are scored every time
+    public ScoreResult scoreGame(String[] tokens, int numTokens, ScoringEngine engine) {
+        if (numTokens != Game.MAX_FRAMES && numTokens != ScoringEngine.MAX_TOKENS) {
+            misses.increment();
+            return engine.scoreGame(tokens, numTokens);
+        }
+
+        long high = 0;
+        long low = 0;
+        int numSymbols = 0;
+        for (int i=0; i<numTokens; i++) {
+            int result = FrameLexer.classify(tokens[i]);
+            int count = symbolCount(result);
+            numSymbols += count;
+            if (count == 0 || numSymbols > MAX_SYMBOLS) {
+                // Can not be valid, not worth caching
+                misses.increment();
+                return engine.scoreGame(tokens, numTokens);
+            }
+
+            // Shift the 128 bit key, symbols are stored + 1 so the key has no leading zero symbols
+            int symbols = symbols(result);
+            for (int s=count-1; s>=0; s--) {
+                high = high << 4 | low >>> 60;
+                low = low << 4 | (((symbols >> (4 * s)) & 0xF) + 1);
+            }
+        }
+
+        int set = (hash(high, low) & setMask) * WAYS;
+        for (int way=0; way<WAYS; way++) {
+            Entry entry = entries.get(set + way);
+            if (entry != null && entry.high == high && entry.low == low) {
+                hits.increment();
+                if (way > 0) {
+                    // Most recently used first, racing threads may leave it where it is
+                    Entry first = entries.get(set);
+                    if (entries.compareAndSet(set, first, entry)) {
+                        entries.compareAndSet(set + way, entry, first);
+                    }
+                }
+                return entry.result;
+            }
+        }
+
+        misses.increment();
+        ScoreResult result = engine.scoreGame(tokens, numTokens);
+        if (result.isValid()) {
+            // The newest entry goes first, racing threads may lose an entry, never corrupt one
+            entries.set(set + 1, entries.get(set));
+            entries.set(set, new Entry(high, low, result));
+        }
+        return result;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long lookups = getHits() + getMisses();
+        return lookups > 0 ? (double) getHits() / lookups : 0;
+    }
+
+    public int size() {
+        int size = 0;
+        for (int i=0; i<entries.length(); i++) {
+            if (entries.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    public int getCapacity() {
+        return entries.length();
+    }
+
+    // The number of GameArchive symbols of a result, 0 if invalid
+    private static int symbolCount(int result) {
+        switch (FrameLexer.kind(result)) {
+            case FrameLexer.STRIKE:
+                return 1;
+            case FrameLexer.SPARE:
+            case FrameLexer.REGULAR:
+                return 2;
+            case FrameLexer.LAST_SPARE:
+                return FrameLexer.bonus(result) >= 10 ? 4 : 3;
+            default:
+                return 0;
+        }
+    }
+
+    // Up to 4 GameArchive symbols of a result, 1st symbol in the highest nibble
+    private static int symbols(int result) {
+        int first = FrameLexer.first(result);
+        switch (FrameLexer.kind(result)) {
+            case FrameLexer.STRIKE:
+                return GameArchive.STRIKE;
+            case FrameLexer.SPARE:
+                return first << 4 | GameArchive.SPARE;
+            case FrameLexer.LAST_SPARE:
+                int bonus = FrameLexer.bonus(result);
+                int lastSpare = first << 8 | GameArchive.LAST_SPARE << 4;
+                return bonus >= 10 ? (lastSpare | bonus / 10) << 4 | GameArchive.ZERO : lastSpare | bonus;
+            default:
+                return first << 4 | FrameLexer.second(result);
+        }
+    }
+
+    private static int hash(long high, long low) {
+        long h = (high * 0x9E3779B97F4A7C15L) ^ low;
+        h *= 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static class Entry {
+
+        private final long high;
+
+        private final long low;
+
+        private final ScoreResult result;
+
+        Entry(long high, long low, ScoreResult result) {
+            this.high = high;
+            this.low = low;
+            this.result = result;
+        }
+    }
+}
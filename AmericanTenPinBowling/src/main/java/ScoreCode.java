@@ -0,0 +1,49 @@
+/*
+ * The outcome of scoring a game packed into an int, so it can be returned without allocating:
+ *
+ *   valid     the total score, >= 0
+ *   invalid   -1 - (error ordinal | token index << 3), < 0
+ *
+ * Same content as ScoreResult, see ScoringEngine.scoreCode().
+ */
+public class ScoreCode {
+
+    private static final ValidationError[] ERRORS = ValidationError.values();
+
+    private static final int ERROR_BITS = 3;
+
+    private static final int ERROR_MASK = (1 << ERROR_BITS) - 1;
+
+    private ScoreCode() {}
+
+    static int valid(int totalScore) {
+        return totalScore;
+    }
+
+    static int invalid(ValidationError error, int tokenIndex) {
+        return -1 - (error.ordinal() | tokenIndex << ERROR_BITS);
+    }
+
+    public static boolean isValid(int code) {
+        return code >= 0;
+    }
+
+    // 0 if invalid
+    public static int totalScore(int code) {
+        return code >= 0 ? code : 0;
+    }
+
+    // null if valid
+    public static ValidationError error(int code) {
+        return code >= 0 ? null : ERRORS[(-1 - code) & ERROR_MASK];
+    }
+
+    // -1 if valid
+    public static int tokenIndex(int code) {
+        return code >= 0 ? -1 : (-1 - code) >>> ERROR_BITS;
+    }
+
+    public static ScoreResult toResult(int code) {
+        return code >= 0 ? ScoreResult.valid(code) : ScoreResult.invalid(error(code), tokenIndex(code));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * The outcome of scoring a game: either the total score,
+ * or the validation error and the index of the offending token
+ *
+ * Instances are immutable, so the common ones are created once and shared.
+ */
+public class ScoreResult {
+
+    private static final int MAX_GAME_SCORE = 300;
+
+    private static final int MAX_SHARED_INDEX = 32;
+
+    private static final ScoreResult[] VALID = new ScoreResult[MAX_GAME_SCORE + 1];
+
+    // By error, then by token index
+    private static final ScoreResult[][] INVALID = new ScoreResult[ValidationError.values().length][MAX_SHARED_INDEX];
+
+    static {
+        for (int i=0; i<VALID.length; i++) {
+            VALID[i] = new ScoreResult(i, null, -1);
+        }
+        for (ValidationError error : ValidationError.values()) {
+            for (int i=0; i<MAX_SHARED_INDEX; i++) {
+                INVALID[error.ordinal()][i] = new ScoreResult(0, error, i);
+            }
+        }
+    }
+
+    private final int totalScore;
+
+    private final ValidationError error;
+
+    private final int tokenIndex;
+
+    private ScoreResult(int totalScore, ValidationError error, int tokenIndex) {
+        this.totalScore = totalScore;
+        this.error = error;
+        this.tokenIndex = tokenIndex;
+    }
+
+    public static ScoreResult valid(int totalScore) {
+        if (totalScore >= 0 && totalScore <= MAX_GAME_SCORE) {
+            return VALID[totalScore];
+        }
+        return new ScoreResult(totalScore, null, -1);
+    }
+
+    public static ScoreResult invalid(ValidationError error, int tokenIndex) {
+        if (tokenIndex >= 0 && tokenIndex < MAX_SHARED_INDEX) {
+            return INVALID[error.ordinal()][tokenIndex];
+        }
+        return new ScoreResult(0, error, tokenIndex);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    public int getTotalScore() {
+        return totalScore;
+    }
+
+    public ValidationError getError() {
+        return error;
+    }
+
+    public int getTokenIndex() {
+        return tokenIndex;
+    }
+
+    @Override
+    public String toString() {
+        if (isValid()) {
+            return String.valueOf(totalScore);
+        }
+        return error.getMessage() + " at token " + tokenIndex;
+    }
+}
@@ -0,0 +1,91 @@
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Publishes the ScoreUpdates of live games to any number of subscribers, e.g. scoreboards.
+ *
+ * Every subscriber has its own bounded buffer and only gets as many updates as it requested.
+ * Updates are delivered on the executor, never on the scoring thread, and publishing never blocks:
+ * an update which does not fit into the buffer of a subscriber that falls behind is dropped
+ * for that subscriber, and counted. Nothing is allocated while there are no subscribers.
+ * Thread safe.
+ */
+public class ScoreStream implements Flow.Publisher<ScoreUpdate>, AutoCloseable {
+
+    private final SubmissionPublisher<ScoreUpdate> publisher;
+
+    private final LongAdder numDropped = new LongAdder();
+
+    // Delivers on the common pool, with buffers of Flow.defaultBufferSize()
+    public ScoreStream() {
+        publisher = new SubmissionPublisher<>();
+    }
+
+    public ScoreStream(Executor executor, int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        publisher = new SubmissionPublisher<>(executor, bufferSize);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ScoreUpdate> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    // Returns immediately, whatever the demand of the subscribers, updates after close() are ignored.
+    // Never throws, as it is called in the middle of the updates of a LiveGame.
+    public void publish(ScoreUpdate update) {
+        if (publisher.isClosed()) {
+            return;
+        }
+        try {
+            publisher.offer(update, (subscriber, dropped) -> {
+                numDropped.increment();
+                return false; // no retry
+            });
+        } catch (IllegalStateException ise) {
+            // Closed since the check above
+            if (!publisher.isClosed()) {
+                throw ise;
+            }
+            numDropped.increment();
+        }
+    }
+
+    // Publishes the events of one game, e.g. of LiveGame.setListener()
+    public GameListener listener(int lane, String player) {
+        return new GameListener() {
+            @Override
+            public void frameScored(int frame, int frameScore, int totalScore) {
+                if (publisher.hasSubscribers()) {
+                    publish(new ScoreUpdate(ScoreUpdate.Type.FRAME, lane, player, frame, frameScore, totalScore));
+                }
+            }
+
+            @Override
+            public void gameScored(int totalScore, int numStrikes, int numSpares) {
+                if (publisher.hasSubscribers()) {
+                    publish(new ScoreUpdate(ScoreUpdate.Type.GAME_OVER, lane, player, -1, 0, totalScore));
+                }
+            }
+        };
+    }
+
+    // Number of updates dropped for subscribers falling behind, one per subscriber and update
+    public long getNumDropped() {
+        return numDropped.sum();
+    }
+
+    public int getNumSubscribers() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    // Subscribers complete once they got the updates already in their buffers
+    @Override
+    public void close() {
+        publisher.close();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Immutable event of a ScoreStream: the score of a frame changed, or the game is over.
+ * Every update carries the running total, so the last one received is always a consistent total.
+ */
+public class ScoreUpdate {
+
+    public enum Type {
+        FRAME, // a roll in the frame, or its strike or spare bonus resolved by a later roll
+        GAME_OVER
+    }
+
+    private final Type type;
+
+    private final int lane;
+
+    private final String player;
+
+    private final int frame;
+
+    private final int frameScore;
+
+    private final int totalScore;
+
+    ScoreUpdate(Type type, int lane, String player, int frame, int frameScore, int totalScore) {
+        this.type = type;
+        this.lane = lane;
+        this.player = player;
+        this.frame = frame;
+        this.frameScore = frameScore;
+        this.totalScore = totalScore;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getLane() {
+        return lane;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    // Index of the frame starting at 0, -1 for GAME_OVER
+    public int getFrame() {
+        return frame;
+    }
+
+    public int getFrameScore() {
+        return frameScore;
+    }
+
+    public int getTotalScore() {
+        return totalScore;
+    }
+
+    @Override
+    public String toString() {
+        if (type == Type.GAME_OVER) {
+            return "lane " + lane + " " + player + " game over " + totalScore;
+        }
+        return "lane " + lane + " " + player + " frame " + (frame + 1) + " " + frameScore + " total " + totalScore;
+    }
+}
@@ -0,0 +1,107 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/*
+ * Live scoreboard of a game: the score of every frame and the cumulative score after it.
+ *
+ * Listens to a LiveGame. Cumulative scores are prefix sums of the frame scores, computed
+ * lazily when read and cached. A roll only invalidates the sums from the lowest frame
+ * it changed on, e.g. the frame of a strike it resolved, so the next read sums that suffix
+ * once and every other read is constant time.
+ * Thread safe, so any number of displays can read while the game is rolled.
+ */
+public class Scoreboard implements GameListener {
+
+    private final int[] frameScores;
+
+    private final int[] cumulativeScores;
+
+    // Cumulative scores of the frames before are up to date
+    private int numSummed = 0;
+
+    private int numFramesStarted = 0;
+
+    private int totalScore = 0;
+
+    private boolean gameOver = false;
+
+    // Frame scores added up so far, to tell how much work the cache saves
+    private long numAdditions = 0;
+
+    public Scoreboard() {
+        this(Game.MAX_FRAMES);
+    }
+
+    public Scoreboard(int numFrames) {
+        frameScores = new int[numFrames];
+        cumulativeScores = new int[numFrames];
+    }
+
+    @Override
+    public synchronized void frameScored(int frame, int frameScore, int totalScore) {
+        frameScores[frame] = frameScore;
+        this.totalScore = totalScore;
+        numSummed = Math.min(numSummed, frame);
+        numFramesStarted = Math.max(numFramesStarted, frame + 1);
+    }
+
+    @Override
+    public synchronized void gameScored(int totalScore, int numStrikes, int numSpares) {
+        gameOver = true;
+    }
+
+    // The score of the game after the frame
+    public synchronized int getCumulativeScore(int frame) {
+        Objects.checkIndex(frame, frameScores.length);
+        if (frame >= numSummed) {
+            int sum = numSummed > 0 ? cumulativeScores[numSummed - 1] : 0;
+            for (int i=numSummed; i<=frame; i++) {
+                sum += frameScores[i];
+                cumulativeScores[i] = sum;
+            }
+            numAdditions += frame + 1 - numSummed;
+            numSummed = frame + 1;
+        }
+        return cumulativeScores[frame];
+    }
+
+    // Copies the cumulative scores of all the frames, e.g. to render a whole row at once
+    public synchronized int[] getCumulativeScores() {
+        getCumulativeScore(frameScores.length - 1);
+        return cumulativeScores.clone();
+    }
+
+    public synchronized int getFrameScore(int frame) {
+        return frameScores[frame];
+    }
+
+    public synchronized int getTotalScore() {
+        return totalScore;
+    }
+
+    // Frames with a score so far, the others are not played yet
+    public synchronized int getNumFramesStarted() {
+        return numFramesStarted;
+    }
+
+    public synchronized boolean isGameOver() {
+        return gameOver;
+    }
+
+    public int getNumFrames() {
+        return frameScores.length;
+    }
+
+    synchronized long getNumAdditions() {
+        return numAdditions;
+    }
+
+    // Clears the board for the next game
+    public synchronized void reset() {
+        Arrays.fill(frameScores, 0);
+        numSummed = 0;
+        numFramesStarted = 0;
+        totalScore = 0;
+        gameOver = false;
+    }
+}
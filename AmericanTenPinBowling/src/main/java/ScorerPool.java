@@ -0,0 +1,43 @@
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/*
+ * Thread confined pool of scorers for worker threads.
+ *
+ * Every thread gets its own scorer, created on its first acquire() and reset on every next one,
+ * so a worker scores any number of games with a single instance, and no instance is ever
+ * shared between threads. A scorer must not be handed to another thread.
+ */
+public class ScorerPool<T> {
+
+    private final ThreadLocal<T> scorers;
+
+    private final Consumer<T> reset;
+
+    public ScorerPool(Supplier<T> factory, Consumer<T> reset) {
+        this.scorers = ThreadLocal.withInitial(factory);
+        this.reset = reset;
+    }
+
+    // Games of 10 frames, reset before every game
+    public static ScorerPool<Game> games() {
+        return new ScorerPool<>(() -> new Game(Game.MAX_FRAMES), Game::reset);
+    }
+
+    // Engines reset themselves on every game
+    public static ScorerPool<ScoringEngine> engines() {
+        return new ScorerPool<>(ScoringEngine::new, engine -> {});
+    }
+
+    // The scorer of the calling thread, ready for the next game
+    public T acquire() {
+        T scorer = scorers.get();
+        reset.accept(scorer);
+        return scorer;
+    }
+
+    // Drops the scorer of the calling thread, e.g. before it goes back to a shared thread pool
+    public void remove() {
+        scorers.remove();
+    }
+}
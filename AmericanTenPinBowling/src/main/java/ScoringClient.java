@@ -0,0 +1,113 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Thin client of a ScoringServer, one connection for any number of games.
+ * Not thread safe, use a client per thread.
+ */
+public class ScoringClient implements Closeable {
+
+    // Games sent before their results are read, so neither side blocks on a full socket buffer
+    static final int MAX_PIPELINED = 1024;
+
+    private final SocketChannel channel;
+
+    private final BufferedReader reader;
+
+    private final Writer writer;
+
+    public ScoringClient(SocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        if (!(address instanceof UnixDomainSocketAddress)) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        }
+        reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.ISO_8859_1));
+        writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.ISO_8859_1));
+    }
+
+    // Returns the response line, the total score or "INVALID <reason>"
+    public String score(String game) throws IOException {
+        send(game);
+        writer.flush();
+        return receive();
+    }
+
+    // Pipelines the games, the results are in the same order
+    public List<String> score(List<String> games) throws IOException {
+        List<String> results = new ArrayList<>(games.size());
+        for (int start=0; start<games.size(); start+=MAX_PIPELINED) {
+            int end = Math.min(start + MAX_PIPELINED, games.size());
+            for (int i=start; i<end; i++) {
+                send(games.get(i));
+            }
+            writer.flush();
+            for (int i=start; i<end; i++) {
+                results.add(receive());
+            }
+        }
+        return results;
+    }
+
+    private void send(String game) throws IOException {
+        if (game.indexOf('\n') >= 0 || game.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("Game must be a single line");
+        }
+        writer.write(game);
+        writer.write('\n');
+    }
+
+    private String receive() throws IOException {
+        String result = reader.readLine();
+        if (result == null) {
+            throw new IOException("Connection closed by server");
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Scores the game of the arguments, or every line of the standard input
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: ScoringClient <port | socket path> [tokens of a game]");
+            return;
+        }
+
+        try (ScoringClient client = new ScoringClient(ScoringServer.address(args[0]))) {
+            if (args.length > 1) {
+                System.out.println(client.score(String.join(" ", List.of(args).subList(1, args.length))));
+                return;
+            }
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.ISO_8859_1));
+            List<String> games = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                games.add(line);
+                if (games.size() == MAX_PIPELINED) {
+                    client.score(games).forEach(System.out::println);
+                    games.clear();
+                }
+            }
+            client.score(games).forEach(System.out::println);
+        } catch (IOException ioe) {
+            System.err.println("Failed to score on " + args[0] + ": " + ioe.getMessage());
+        }
+    }
+}
@@ -0,0 +1,422 @@
+import java.util.Arrays;
+
+/*
+ * Allocation free scoring engine.
+ *
+ * Rolls are kept in a reusable int[] instead of the Frame/Attempt object graph,
+ * and frame scores are calculated with exactly the same rules as Game, so
+ * getTotalScore() returns the same results for the same tokens.
+ * Tokens are validated, parsed and scored in a single forward pass: the bonus
+ * of a strike or spare is added as soon as the frames it depends on are parsed.
+ * An instance can score any number of games, but is not thread safe.
+ */
+public class ScoringEngine {
+
+    // 22, e.g. nine open frames and X X 34
+    public static final int MAX_ROLLS = GameRules.STANDARD.getMaxRolls();
+
+    static final int OPEN = 0;
+
+    static final int SPARE = 1;
+
+    static final int STRIKE = 2;
+
+    private static final int STRIKE_SCORE = 10;
+
+    private static final int SPARE_SCORE = 10;
+
+    private static final int MAX_SCORE = 10;
+
+    private static final char MISS = '-';
+
+    // Up to 10 frames plus 2 bonus tokens, as accepted by Game.main()
+    static final int MAX_TOKENS = Game.MAX_FRAMES + 2;
+
+    private int[] rolls = new int[MAX_ROLLS];
+
+    private int[] frameStart = new int[MAX_TOKENS]; // index of the 1st roll of a frame
+
+    private int[] frameKind = new int[MAX_TOKENS];
+
+    private int[] frameScores = new int[MAX_TOKENS];
+
+    private int numRolls = 0;
+
+    private int numFrames = 0;
+
+    private int totalScore = 0;
+
+    private ValidationError error = null;
+
+    private int errorIndex = -1;
+
+    private GameListener listener = GameListener.NONE;
+
+    public void setListener(GameListener listener) {
+        this.listener = listener != null ? listener : GameListener.NONE;
+    }
+
+    // Scores the tokens the same way as Game.start(), without validating them first
+    public int score(String[] tokens) throws NumberFormatException {
+        return process(tokens, null, tokens.length, false);
+    }
+
+    // Scores results classified by FrameLexer, e.g. decoded from a GameArchive, without any text parsing.
+    // The results are expected to be valid.
+    public int score(int[] results, int numResults) throws NumberFormatException {
+        return process(null, results, numResults, false);
+    }
+
+    // Validates and scores the tokens the same way as Game.main(), touching each token once
+    public ScoreResult scoreGame(String[] tokens) {
+        return scoreGame(tokens, tokens.length);
+    }
+
+    // Same as above for the first numTokens tokens, so the array can be reused
+    public ScoreResult scoreGame(String[] tokens, int numTokens) {
+        return ScoreCode.toResult(scoreCode(tokens, numTokens));
+    }
+
+    // Same as scoreGame(), but the outcome is packed into a ScoreCode.
+    // Invalid games neither throw nor allocate, so rejecting a game costs no more than scoring it.
+    public int scoreCode(String[] tokens, int numTokens) {
+        return scoreCode(tokens, null, numTokens);
+    }
+
+    // Same as above for tokens already classified by FrameLexer, e.g. parsed in place by ByteGameParser
+    public int scoreCode(int[] results, int numResults) {
+        return scoreCode(null, results, numResults);
+    }
+
+    public int getTotalScore() {
+        return totalScore;
+    }
+
+    public int getFrameCount() {
+        return numFrames;
+    }
+
+    public int getFrameScore(int frame) {
+        return frameScores[frame];
+    }
+
+    public int getRollCount() {
+        return numRolls;
+    }
+
+    public int getRoll(int roll) {
+        return rolls[roll];
+    }
+
+    int getRollCapacity() {
+        return rolls.length;
+    }
+
+    // Either the tokens, or their results are given
+    private int scoreCode(String[] tokens, int[] results, int numTokens) {
+        if (listener == GameListener.NONE) {
+            return validateAndScore(tokens, results, numTokens);
+        }
+
+        long start = System.nanoTime();
+        int code = validateAndScore(tokens, results, numTokens);
+        listener.stageCompleted(GameListener.Stage.SCORE, System.nanoTime() - start);
+
+        if (ScoreCode.isValid(code)) {
+            listener.gameScored(code, countFrames(STRIKE), countFrames(SPARE));
+        } else {
+            // With the index of the token, e.g. "Too many pins at token 7"
+            listener.gameFailed(ScoreCode.toResult(code).toString());
+        }
+        return code;
+    }
+
+    private int validateAndScore(String[] tokens, int[] results, int numTokens) {
+        if (numTokens != Game.MAX_FRAMES && numTokens != MAX_TOKENS) {
+            return ScoreCode.invalid(ValidationError.INVALID_NUMBER_OF_FRAMES, numTokens);
+        }
+
+        int total = process(tokens, results, numTokens, true);
+        if (error != null) {
+            return ScoreCode.invalid(error, errorIndex);
+        }
+        return ScoreCode.valid(total);
+    }
+
+    private int countFrames(int kind) {
+        int count = 0;
+        for (int i=0; i<numFrames; i++) {
+            if (frameKind[i] == kind) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Either the tokens, or their results are given
+    private int process(String[] tokens, int[] results, int numTokens, boolean validate) throws NumberFormatException {
+        numRolls = 0;
+        numFrames = 0;
+        totalScore = 0;
+        error = null;
+        errorIndex = -1;
+
+        // Tokens the frames and bonus throws are made of, the others are left over
+        int numParsed = numTokens;
+        for (int i=0; i<numTokens; i++) {
+            String token = tokenAt(tokens, i);
+            int result = tokens != null ? FrameLexer.classify(token) : results[i];
+            if (validate) {
+                ValidationError invalid = validateResult(result, i);
+                if (invalid != null) {
+                    return fail(invalid, i);
+                }
+            }
+
+            int frame = parseFrame(token, result);
+            addBonuses(frame);
+
+            // Last frame, i.e. 10th
+            if (i == Game.MAX_FRAMES-1) {
+                if (frameKind[frame] == STRIKE) {
+                    int bonus = parseStrikeBonus(tokens, results, numTokens, i, validate);
+                    if (bonus < 0) {
+                        return -1;
+                    }
+                    addFrameScore(frame, MAX_SCORE + bonus);
+                    // A strike in the 1st bonus throw is followed by a token of its own
+                    numParsed = rolls[frameStart[frame] + 1] == MAX_SCORE ? i+3 : i+2;
+                    break;
+                } else if (FrameLexer.kind(result) == FrameLexer.LAST_SPARE) {
+                    int bonus = FrameLexer.bonus(result);
+                    addRoll(bonus);
+                    addFrameScore(frame, bonus);
+                    numParsed = i+1;
+                    break;
+                } else if (validate) {
+                    // No bonus throws, tokens after the 10th frame are not frames
+                    numParsed = i+1;
+                    break;
+                }
+            }
+        }
+        if (validate && numParsed != numTokens) {
+            return fail(ValidationError.INVALID_NUMBER_OF_FRAMES, numParsed);
+        }
+
+        // A strike before last followed by a strike, probably the 9th frame, add 1st attempt
+        int beforeLast = numFrames - 2;
+        if (beforeLast >= 0 && frameKind[beforeLast] == STRIKE && frameKind[beforeLast+1] == STRIKE) {
+            addFrameScore(beforeLast, MAX_SCORE + MAX_SCORE);
+        }
+
+        return totalScore;
+    }
+
+    // Adds the bonuses of the previous frames which were waiting for this one
+    private void addBonuses(int frame) {
+        int previous = frame - 1;
+        int beforePrevious = frame - 2;
+
+        // A strike followed by a strike waits for one more frame
+        if (beforePrevious >= 0 && frameKind[beforePrevious] == STRIKE && frameKind[previous] == STRIKE) {
+            if (frameKind[frame] == OPEN) {
+                addFrameScore(beforePrevious, MAX_SCORE + frameScores[frame]);
+            } else {
+                // Strike or the 1st attempt of the strike, both are max score
+                addFrameScore(beforePrevious, MAX_SCORE + MAX_SCORE);
+            }
+        }
+
+        if (previous >= 0) {
+            if (frameKind[previous] == SPARE) {
+                // Next strike is worth max score, otherwise the 1st attempt is added
+                addFrameScore(previous, frameKind[frame] == STRIKE ? MAX_SCORE : rolls[frameStart[previous]]);
+            } else if (frameKind[previous] == STRIKE && frameKind[frame] != STRIKE) {
+                addFrameScore(previous, frameKind[frame] == SPARE ? MAX_SCORE : frameScores[frame]);
+            }
+        }
+    }
+
+    // The 10th frame strike expects 2 more throws, returns -1 if validation failed
+    private int parseStrikeBonus(String[] tokens, int[] results, int numTokens, int i, boolean validate)
+            throws NumberFormatException {
+        int next = bonusResult(tokens, results, numTokens, i+1, validate);
+        if (next < 0) {
+            return -1;
+        }
+        if (FrameLexer.kind(next) == FrameLexer.STRIKE) {
+            addRoll(MAX_SCORE);
+
+            int nextNext = bonusResult(tokens, results, numTokens, i+2, validate);
+            if (nextNext < 0) {
+                return -1;
+            }
+            if (FrameLexer.kind(nextNext) == FrameLexer.STRIKE) {
+                addRoll(MAX_SCORE);
+                return MAX_SCORE;
+            } else if (FrameLexer.kind(nextNext) == FrameLexer.SPARE) {
+                addRoll(FrameLexer.first(nextNext));
+                addRoll(FrameLexer.second(nextNext));
+                return FrameLexer.first(nextNext);
+            }
+            return parseAttemptsScore(tokenAt(tokens, i+2), nextNext, i+2, validate);
+        } else if (FrameLexer.kind(next) == FrameLexer.SPARE) {
+            // 2 throws result in maximum points. i.e. 10
+            addRoll(FrameLexer.first(next));
+            addRoll(FrameLexer.second(next));
+            return MAX_SCORE;
+        }
+        return parseAttemptsScore(tokenAt(tokens, i+1), next, i+1, validate);
+    }
+
+    // Classifies a bonus token, returns -1 if validation failed
+    private int bonusResult(String[] tokens, int[] results, int numTokens, int i, boolean validate)
+            throws NumberFormatException {
+        if (i >= numTokens) {
+            if (validate) {
+                return fail(ValidationError.MISSING_BONUS, i);
+            }
+            throw new NumberFormatException("Missing bonus throw");
+        }
+
+        int result = tokens != null ? FrameLexer.classify(tokens[i]) : results[i];
+        if (validate) {
+            ValidationError invalid = validateResult(result, i);
+            if (invalid != null) {
+                return fail(invalid, i);
+            }
+        }
+        return result;
+    }
+
+    private static String tokenAt(String[] tokens, int i) {
+        return tokens != null ? tokens[i] : null;
+    }
+
+    private static ValidationError validateResult(int result, int i) {
+        int kind = FrameLexer.kind(result);
+        if (kind == FrameLexer.INVALID) {
+            return ValidationError.INVALID_RESULT;
+        } else if (kind == FrameLexer.LAST_SPARE && i != Game.MAX_FRAMES-1) {
+            return ValidationError.INVALID_RESULT;
+        } else if (kind == FrameLexer.REGULAR && FrameLexer.first(result) + FrameLexer.second(result) > MAX_SCORE) {
+            return ValidationError.TOO_MANY_PINS;
+        }
+        return null;
+    }
+
+    private int fail(ValidationError error, int i) {
+        this.error = error;
+        this.errorIndex = i;
+        return -1;
+    }
+
+    // Same as Game.parseFrame(), returns the index of the new frame
+    private int parseFrame(String token, int result) throws NumberFormatException {
+        int frame = numFrames++;
+        if (frame == frameKind.length) {
+            growFrames();
+        }
+        frameStart[frame] = numRolls;
+        frameScores[frame] = 0;
+
+        int kind = FrameLexer.kind(result);
+        if (kind == FrameLexer.STRIKE) {
+            frameKind[frame] = STRIKE;
+            addFrameScore(frame, STRIKE_SCORE);
+            addRoll(MAX_SCORE);
+        }
+        else
+        if (kind == FrameLexer.SPARE || kind == FrameLexer.LAST_SPARE) {
+            frameKind[frame] = SPARE;
+            addFrameScore(frame, SPARE_SCORE);
+            addRoll(FrameLexer.first(result));
+            addRoll(FrameLexer.second(result));
+        }
+        else
+        if (kind == FrameLexer.REGULAR) {
+            frameKind[frame] = OPEN;
+            addFrameScore(frame, FrameLexer.first(result) + FrameLexer.second(result));
+            addRoll(FrameLexer.first(result));
+            addRoll(FrameLexer.second(result));
+        }
+        else {
+            // Assume 2 attempts score
+            if (token == null) {
+                throw new NumberFormatException("Invalid result");
+            }
+            if (token.isBlank()) {
+                throw new NumberFormatException("Empty result 1");
+            }
+            int score1 = parseAttempt(token.charAt(0));
+
+            if (token.length() == 1) {
+                throw new NumberFormatException("Empty result 2");
+            }
+            int score2 = parseAttempt(token.charAt(1));
+
+            frameKind[frame] = OPEN;
+            addFrameScore(frame, score1 + score2);
+            addRoll(score1);
+            addRoll(score2);
+        }
+
+        return frame;
+    }
+
+    // Same as Game.calculateAttemptsScore(), a miss is not accepted here
+    private int parseAttemptsScore(String token, int result, int i, boolean validate) throws NumberFormatException {
+        if (FrameLexer.kind(result) == FrameLexer.REGULAR && FrameLexer.first(result) > 0 && FrameLexer.second(result) > 0) {
+            addRoll(FrameLexer.first(result));
+            addRoll(FrameLexer.second(result));
+            return FrameLexer.first(result) + FrameLexer.second(result);
+        }
+        if (validate) {
+            return fail(ValidationError.INVALID_BONUS, i);
+        }
+        if (token == null) {
+            throw new NumberFormatException("Invalid bonus throw");
+        }
+        if (token.length() < 2) {
+            throw new NumberFormatException("Empty result 2");
+        }
+        int score1 = parseDigit(token.charAt(0));
+        int score2 = parseDigit(token.charAt(1));
+        addRoll(score1);
+        addRoll(score2);
+        return score1 + score2;
+    }
+
+    private static int parseAttempt(char c) throws NumberFormatException {
+        return c == MISS ? 0 : parseDigit(c);
+    }
+
+    private static int parseDigit(char c) throws NumberFormatException {
+        int digit = Character.digit(c, 10);
+        if (digit < 0) {
+            throw new NumberFormatException("For input string: \"" + c + "\"");
+        }
+        return digit;
+    }
+
+    private void addFrameScore(int frame, int score) {
+        frameScores[frame] += score;
+        totalScore += score;
+    }
+
+    private void addRoll(int pins) {
+        if (numRolls == rolls.length) {
+            // Only longer than standard games get here
+            rolls = Arrays.copyOf(rolls, rolls.length * 2);
+        }
+        rolls[numRolls++] = pins;
+    }
+
+    private void growFrames() {
+        int capacity = frameKind.length * 2;
+        frameStart = Arrays.copyOf(frameStart, capacity);
+        frameKind = Arrays.copyOf(frameKind, capacity);
+        frameScores = Arrays.copyOf(frameScores, capacity);
+    }
+}
@@ -0,0 +1,303 @@
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Long running scoring daemon, so clients do not pay for a JVM start per game.
+ *
+ * Listens on a localhost TCP port or a Unix domain socket. The protocol is line oriented,
+ * the same as BatchScorer: every request line is a game, e.g. "X X X X X X X X X X X X",
+ * and gets one response line, the total score or "INVALID <reason>".
+ * Requests may be pipelined, responses come in the same order, and those of requests
+ * which arrived together are written at once.
+ * Every client has its own thread and scorer, the ScoreCache is shared by all of them.
+ *
+ * A line longer than MAX_LINE_LENGTH is skipped and answered "INVALID Line too long", so
+ * a client cannot run the server out of memory. At most maxClients are served at once,
+ * the next ones wait in the accept backlog until a client leaves.
+ */
+public class ScoringServer implements Runnable, Closeable {
+
+    public static final int DEFAULT_CACHE_CAPACITY = 1 << 16;
+
+    // Far more than any valid game, "X X X X X X X X X X X X" is 23 characters
+    public static final int MAX_LINE_LENGTH = 1024;
+
+    public static final int DEFAULT_MAX_CLIENTS = 256;
+
+    // Reason a line longer than MAX_LINE_LENGTH is rejected
+    static final String LINE_TOO_LONG = "Line too long";
+
+    private final ServerSocketChannel server;
+
+    private final SocketAddress address;
+
+    private final GameListener listener;
+
+    private final ScoreCache cache = new ScoreCache(DEFAULT_CACHE_CAPACITY);
+
+    private final ThreadPoolExecutor connections;
+
+    // A permit per client served, taken before accepting it
+    private final Semaphore permits;
+
+    private final int maxClients;
+
+    private final Set<SocketChannel> clients = ConcurrentHashMap.newKeySet();
+
+    public ScoringServer(SocketAddress address) throws IOException {
+        this(address, GameListener.NONE);
+    }
+
+    // The listener is shared by all the clients, so it must be thread safe, e.g. GameMetrics
+    public ScoringServer(SocketAddress address, GameListener listener) throws IOException {
+        this(address, listener, DEFAULT_MAX_CLIENTS);
+    }
+
+    public ScoringServer(SocketAddress address, GameListener listener, int maxClients) throws IOException {
+        if (maxClients < 1) {
+            throw new IllegalArgumentException("Invalid maximum number of clients: " + maxClients);
+        }
+        boolean unix = address instanceof UnixDomainSocketAddress;
+        server = unix ? ServerSocketChannel.open(StandardProtocolFamily.UNIX) : ServerSocketChannel.open();
+        try {
+            server.bind(address);
+            this.address = server.getLocalAddress();
+        } catch (IOException ioe) {
+            server.close();
+            throw ioe;
+        }
+        this.listener = listener;
+        this.maxClients = maxClients;
+        permits = new Semaphore(maxClients);
+        // A thread per client, idle ones end after a while
+        connections = new ThreadPoolExecutor(maxClients, maxClients, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "ScoringServer connection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        connections.allowCoreThreadTimeOut(true);
+    }
+
+    // The bound address, e.g. the port picked for port 0
+    public SocketAddress getAddress() {
+        return address;
+    }
+
+    public int getNumClients() {
+        return clients.size();
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    // Accepts clients in a new thread
+    public void start() {
+        Thread acceptor = new Thread(this, "ScoringServer acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    // Accepts clients until the server is closed
+    @Override
+    public void run() {
+        while (server.isOpen()) {
+            permits.acquireUninterruptibly();
+            try {
+                SocketChannel channel = server.accept();
+                clients.add(channel);
+                connections.execute(() -> serve(channel));
+            } catch (ClosedChannelException cce) {
+                break;
+            } catch (IOException ioe) {
+                permits.release();
+                System.err.println("Failed to accept client: " + ioe.getMessage());
+            }
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        BatchScorer scorer = new BatchScorer(listener, cache);
+        try (channel) {
+            if (!(address instanceof UnixDomainSocketAddress)) {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            }
+            LineReader reader = new LineReader(Channels.newInputStream(channel));
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.ISO_8859_1));
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (reader.wasTooLong()) {
+                    listener.gameFailed(LINE_TOO_LONG);
+                    writer.write("INVALID " + LINE_TOO_LONG);
+                } else {
+                    writer.write(scorer.scoreLine(line));
+                }
+                writer.write('\n');
+                // Pipelined requests already read are answered together
+                if (!reader.ready()) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException ioe) {
+            // The client went away
+        } finally {
+            clients.remove(channel);
+            permits.release();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (SocketChannel channel : clients) {
+            channel.close();
+        }
+        connections.shutdownNow();
+        // Wakes the acceptor if it waits for a permit
+        permits.release(maxClients);
+        if (address instanceof UnixDomainSocketAddress) {
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+        }
+    }
+
+    /*
+     * Lines of a client, like BufferedReader.readLine() but never buffering more than a line
+     * of MAX_LINE_LENGTH. Lines end with '\n' or "\r\n".
+     */
+    static final class LineReader {
+
+        private final InputStream in;
+
+        private final byte[] buffer = new byte[8192];
+
+        // Unread bytes
+        private int position = 0;
+
+        private int limit = 0;
+
+        // Of the last line read
+        private boolean tooLong = false;
+
+        LineReader(InputStream in) {
+            this.in = in;
+        }
+
+        // Returns the next line, an empty one if it was too long and skipped, or null at the end of the stream
+        String readLine() throws IOException {
+            tooLong = false;
+            int scanned = position;
+            while (true) {
+                for (int i=scanned; i<limit; i++) {
+                    if (buffer[i] == '\n') {
+                        int start = position;
+                        position = i + 1;
+                        int end = i > start && buffer[i - 1] == '\r' ? i - 1 : i;
+                        tooLong |= end - start > MAX_LINE_LENGTH;
+                        return tooLong ? "" : line(start, end);
+                    }
+                }
+
+                // No end of line yet, keep the start of the line, or nothing of a long one
+                if (tooLong || limit - position > MAX_LINE_LENGTH) {
+                    tooLong = true;
+                    limit = 0;
+                } else {
+                    System.arraycopy(buffer, position, buffer, 0, limit - position);
+                    limit -= position;
+                }
+                position = 0;
+                scanned = limit;
+
+                int read = in.read(buffer, limit, buffer.length - limit);
+                if (read < 0) {
+                    if (tooLong) {
+                        return "";
+                    }
+                    if (limit == 0) {
+                        return null;
+                    }
+                    // The last line has no end of line
+                    position = limit;
+                    return line(0, limit);
+                }
+                limit += read;
+            }
+        }
+
+        // Whether the last line read was longer than MAX_LINE_LENGTH, so readLine() returned an empty one instead
+        boolean wasTooLong() {
+            return tooLong;
+        }
+
+        // Whether a line, or part of one, was read already
+        boolean ready() {
+            return position < limit;
+        }
+
+        private String line(int start, int end) {
+            return new String(buffer, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    // A port number is a localhost TCP port, anything else the path of a Unix domain socket
+    static SocketAddress address(String arg) {
+        try {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(arg));
+        } catch (NumberFormatException nfe) {
+            return UnixDomainSocketAddress.of(arg);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: ScoringServer <port | socket path>");
+            return;
+        }
+
+        GameMetrics metrics = new GameMetrics();
+        ScoringServer server;
+        try {
+            server = new ScoringServer(address(args[0]), metrics);
+        } catch (IOException ioe) {
+            System.err.println("Failed to listen on " + args[0] + ": " + ioe.getMessage());
+            return;
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException ioe) {
+                System.err.println("Failed to close " + args[0] + ": " + ioe.getMessage());
+            }
+            System.out.println(metrics.report());
+        }));
+        System.out.println("Listening on " + server.getAddress());
+        server.run();
+    }
+}
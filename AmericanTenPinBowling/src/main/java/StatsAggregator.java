@@ -0,0 +1,187 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * Streams a history of games into PlayerStats, one line per game: the player followed by the tokens,
+ * e.g. "alice X 7/ 9- X -8 8/ -6 X X X X 81".
+ *
+ * Every line is read once and memory use only grows with the number of players.
+ * Aggregators of different chunks of the history can be merged, so the chunks can be
+ * aggregated in parallel, see main(). Invalid games are counted and skipped.
+ * The games are scored by the ScoringEngine of the calling thread, so the aggregators of
+ * the chunks a worker thread aggregates share one. Not thread safe.
+ */
+public class StatsAggregator {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private static final ScorerPool<ScoringEngine> ENGINES = ScorerPool.engines();
+
+    private final Map<String, PlayerStats> players = new HashMap<>();
+
+    // Reused for every line: the player and the tokens of the game
+    private final String[] line = new String[ScoringEngine.MAX_TOKENS + 1];
+
+    private final String[] tokens = new String[ScoringEngine.MAX_TOKENS];
+
+    private final int[] results = new int[ScoringEngine.MAX_TOKENS];
+
+    private long numInvalid = 0;
+
+    public void aggregate(BufferedReader reader) throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            addLine(text);
+        }
+    }
+
+    public void addLine(String text) {
+        int numTokens = BatchScorer.tokenize(text, line) - 1;
+        if (numTokens < 0) {
+            return; // empty line
+        }
+        if (numTokens > tokens.length) {
+            numInvalid++;
+            return;
+        }
+        System.arraycopy(line, 1, tokens, 0, numTokens);
+        addGame(line[0], tokens, numTokens);
+    }
+
+    // Returns false if the game is invalid
+    public boolean addGame(String player, String[] tokens, int numTokens) {
+        ScoreResult result = ENGINES.acquire().scoreGame(tokens, numTokens);
+        if (!result.isValid()) {
+            numInvalid++;
+            return false;
+        }
+
+        for (int i=0; i<numTokens; i++) {
+            results[i] = FrameLexer.classify(tokens[i]);
+        }
+        players.computeIfAbsent(player, PlayerStats::new).addGame(results, numTokens, result.getTotalScore());
+        return true;
+    }
+
+    // Adds the players of another chunk of the history
+    public void merge(StatsAggregator other) {
+        for (PlayerStats stats : other.players.values()) {
+            PlayerStats existing = players.get(stats.getPlayer());
+            if (existing != null) {
+                existing.merge(stats);
+            } else {
+                players.put(stats.getPlayer(), stats);
+            }
+        }
+        numInvalid += other.numInvalid;
+    }
+
+    // Returns null for an unknown player
+    public PlayerStats getStats(String player) {
+        return players.get(player);
+    }
+
+    public Collection<PlayerStats> getAllStats() {
+        return players.values();
+    }
+
+    public long getNumInvalid() {
+        return numInvalid;
+    }
+
+    // Aggregates chunks of lines on a pool of workers and merges the results
+    public static StatsAggregator aggregate(BufferedReader reader, int numWorkers) throws IOException {
+        StatsAggregator total = new StatsAggregator();
+        ExecutorService executor = Executors.newFixedThreadPool(numWorkers);
+        Deque<Future<StatsAggregator>> inFlight = new ArrayDeque<>();
+        try {
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+            String text;
+            while ((text = reader.readLine()) != null) {
+                chunk.add(text);
+                if (chunk.size() == CHUNK_SIZE) {
+                    if (inFlight.size() == 2 * numWorkers) {
+                        total.merge(get(inFlight.poll()));
+                    }
+                    List<String> lines = chunk;
+                    inFlight.add(executor.submit(() -> aggregate(lines)));
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            total.merge(aggregate(chunk));
+            while (!inFlight.isEmpty()) {
+                total.merge(get(inFlight.poll()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return total;
+    }
+
+    private static StatsAggregator aggregate(List<String> lines) {
+        StatsAggregator aggregator = new StatsAggregator();
+        for (String text : lines) {
+            aggregator.addLine(text);
+        }
+        return aggregator;
+    }
+
+    private static StatsAggregator get(Future<StatsAggregator> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while aggregating", ie);
+        } catch (ExecutionException ee) {
+            throw new IOException("Failed to aggregate chunk", ee.getCause());
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1 && args.length != 2) {
+            System.err.println("Usage: StatsAggregator <input file> [number of workers]");
+            return;
+        }
+
+        int numWorkers = Runtime.getRuntime().availableProcessors();
+        if (args.length == 2) {
+            try {
+                numWorkers = Integer.parseInt(args[1]);
+            } catch (NumberFormatException nfe) {
+                System.err.println("Invalid number of workers: " + args[1]);
+                return;
+            }
+        }
+
+        Path input = Paths.get(args[0]);
+        StatsAggregator aggregator;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.ISO_8859_1)) {
+            aggregator = aggregate(reader, numWorkers);
+        } catch (IOException ioe) {
+            System.err.println("Failed to aggregate " + input + ": " + ioe.getMessage());
+            return;
+        }
+
+        List<PlayerStats> stats = new ArrayList<>(aggregator.getAllStats());
+        stats.sort((a, b) -> a.getPlayer().compareTo(b.getPlayer()));
+        for (PlayerStats playerStats : stats) {
+            System.out.println(playerStats);
+        }
+        System.out.println(aggregator.getNumInvalid() + " invalid games");
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Table driven scoring with the same rules as Game.
+ *
+ * The score of a frame only depends on the frame itself and the next two frames, and each of them
+ * falls into a few classes: a strike, a spare by its 1st attempt, or an open frame by its pins.
+ * The scores of all windows of three frame classes are precomputed, so scoring a game is
+ * a chain of array lookups, plus the bonus throws of the 10th frame.
+ *
+ * Games are given as FrameLexer results, e.g. decoded from a GameArchive, and are expected
+ * to be valid, see ScoringEngine.scoreGame().
+ */
+public class TableScorer {
+
+    private static final int MAX_SCORE = 10;
+
+    // Index of the lookup tables: kind, 1st and 2nd attempt of a FrameLexer result
+    private static final int RESULT_MASK = 0x7FF;
+
+    private static final int MAX_OPEN_SUM = 18;
+
+    // The class of the frame being scored: a strike, a spare by its 1st attempt, an open frame by its sum
+    private static final int SELF_STRIKE = 0;
+
+    private static final int SELF_SPARE = 1; // 1st attempt is added
+
+    private static final int SELF_OPEN = SELF_SPARE + 9; // sum is added
+
+    private static final int NUM_SELF = SELF_OPEN + MAX_OPEN_SUM + 1;
+
+    // The class of the next two frames: none, a strike, a spare, an open frame by its sum
+    private static final int NEXT_NONE = 0;
+
+    private static final int NEXT_STRIKE = 1;
+
+    private static final int NEXT_SPARE = 2;
+
+    private static final int NEXT_OPEN = 3; // sum is added
+
+    private static final int NUM_NEXT = NEXT_OPEN + MAX_OPEN_SUM + 1;
+
+    private static final byte[] SELF = new byte[RESULT_MASK + 1];
+
+    private static final byte[] NEXT = new byte[RESULT_MASK + 1];
+
+    // Score of a frame by the classes of the frame and the next two frames
+    private static final byte[] SCORES = new byte[NUM_SELF * NUM_NEXT * NUM_NEXT];
+
+    static {
+        for (int first=0; first<=9; first++) {
+            for (int second=0; second<=9; second++) {
+                int index = FrameLexer.pack(FrameLexer.REGULAR, first, second, 0) & RESULT_MASK;
+                SELF[index] = (byte) (SELF_OPEN + first + second);
+                NEXT[index] = (byte) (NEXT_OPEN + first + second);
+            }
+        }
+        for (int first=1; first<=9; first++) {
+            for (int kind : new int[] { FrameLexer.SPARE, FrameLexer.LAST_SPARE }) {
+                int index = FrameLexer.pack(kind, first, MAX_SCORE - first, 0) & RESULT_MASK;
+                SELF[index] = (byte) (SELF_SPARE + first - 1);
+                NEXT[index] = NEXT_SPARE;
+            }
+        }
+        int strike = FrameLexer.classify("X") & RESULT_MASK;
+        SELF[strike] = SELF_STRIKE;
+        NEXT[strike] = NEXT_STRIKE;
+
+        for (int self=0; self<NUM_SELF; self++) {
+            for (int next=0; next<NUM_NEXT; next++) {
+                for (int nextNext=0; nextNext<NUM_NEXT; nextNext++) {
+                    SCORES[(self * NUM_NEXT + next) * NUM_NEXT + nextNext] = (byte) frameScore(self, next, nextNext);
+                }
+            }
+        }
+    }
+
+    // Same rules as ScoringEngine, a frame followed by none is the last one
+    private static int frameScore(int self, int next, int nextNext) {
+        if (self >= SELF_OPEN) {
+            return self - SELF_OPEN;
+        }
+        if (next == NEXT_NONE) {
+            return MAX_SCORE;
+        }
+
+        if (self == SELF_STRIKE) {
+            if (next == NEXT_STRIKE) {
+                if (nextNext >= NEXT_OPEN) {
+                    return MAX_SCORE + MAX_SCORE + (nextNext - NEXT_OPEN);
+                }
+                // Strike, spare or the frame before last, all are max score
+                return MAX_SCORE + MAX_SCORE + MAX_SCORE;
+            } else if (next == NEXT_SPARE) {
+                return MAX_SCORE + MAX_SCORE;
+            }
+            return MAX_SCORE + (next - NEXT_OPEN);
+        }
+
+        // Spare: next strike is worth max score, otherwise the 1st attempt is added
+        int first = self - SELF_SPARE + 1;
+        return MAX_SCORE + (next == NEXT_STRIKE ? MAX_SCORE : first);
+    }
+
+    private TableScorer() {}
+
+    public static int score(int[] results, int numResults) {
+        // The 10th frame strike or spare with its bonus ends the game
+        int numFrames = numResults;
+        int bonus = 0;
+        if (numResults >= Game.MAX_FRAMES) {
+            int last = results[Game.MAX_FRAMES-1];
+            if (FrameLexer.kind(last) == FrameLexer.STRIKE) {
+                numFrames = Game.MAX_FRAMES;
+                bonus = strikeBonus(results, numResults);
+            } else if (FrameLexer.kind(last) == FrameLexer.LAST_SPARE) {
+                numFrames = Game.MAX_FRAMES;
+                bonus = FrameLexer.bonus(last);
+            }
+        }
+
+        int totalScore = bonus;
+        int self = numFrames > 0 ? SELF[results[0] & RESULT_MASK] : 0;
+        int next = numFrames > 1 ? NEXT[results[1] & RESULT_MASK] : NEXT_NONE;
+        for (int i=0; i<numFrames; i++) {
+            int nextNext = i + 2 < numFrames ? NEXT[results[i+2] & RESULT_MASK] : NEXT_NONE;
+            totalScore += SCORES[(self * NUM_NEXT + next) * NUM_NEXT + nextNext];
+
+            // Slide the window, the next frame is now scored
+            self = i + 1 < numFrames ? SELF[results[i+1] & RESULT_MASK] : 0;
+            next = nextNext;
+        }
+        return totalScore;
+    }
+
+    public static int score(String[] tokens) throws NumberFormatException {
+        int[] results = new int[tokens.length];
+        for (int i=0; i<tokens.length; i++) {
+            results[i] = FrameLexer.classify(tokens[i]);
+            if (FrameLexer.kind(results[i]) == FrameLexer.INVALID) {
+                throw new NumberFormatException("Invalid result at token " + i);
+            }
+        }
+        return score(results, tokens.length);
+    }
+
+    // The 10th frame strike bonus on top of its table score, see ScoringEngine
+    static int strikeBonus(int[] results, int numResults) throws NumberFormatException {
+        if (numResults <= Game.MAX_FRAMES
+                || numResults <= Game.MAX_FRAMES + 1 && FrameLexer.kind(results[Game.MAX_FRAMES]) == FrameLexer.STRIKE) {
+            throw new NumberFormatException("Missing bonus throw");
+        }
+
+        int next = results[Game.MAX_FRAMES];
+        if (FrameLexer.kind(next) == FrameLexer.STRIKE) {
+            int nextNext = results[Game.MAX_FRAMES+1];
+            if (FrameLexer.kind(nextNext) == FrameLexer.STRIKE) {
+                return MAX_SCORE + MAX_SCORE;
+            } else if (FrameLexer.kind(nextNext) == FrameLexer.SPARE) {
+                return MAX_SCORE + FrameLexer.first(nextNext);
+            }
+            return MAX_SCORE + FrameLexer.first(nextNext) + FrameLexer.second(nextNext);
+        } else if (FrameLexer.kind(next) == FrameLexer.SPARE) {
+            return MAX_SCORE + MAX_SCORE;
+        }
+        return MAX_SCORE + FrameLexer.first(next) + FrameLexer.second(next);
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * The reasons a game can fail validation
+ */
+public enum ValidationError {
+
+    INVALID_NUMBER_OF_FRAMES("Invalid number of parameters: must be 10 or 12"),
+
+    INVALID_RESULT("Invalid result"),
+
+    TOO_MANY_PINS("More than 10 pins knocked down in a frame"),
+
+    MISSING_BONUS("Missing bonus throw"),
+
+    INVALID_BONUS("Invalid bonus throw");
+
+    private final String message;
+
+    ValidationError(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,37 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchScorerTest {
+
+    @Test
+    public void score() throws IOException {
+        String input = "X X X X X X X X X X X X\n"
+                + "9- 9- 9- 9- 9- 9- 9- 9- 9- 9-\n"
+                + "\n"
+                + "X X X X X X X X X  4/5\n"
+                + "X X a X X X X X X X X X\n"
+                + "\tX X X X X X X X X X X X X\n";
+
+        BatchScorer scorer = new BatchScorer();
+        StringWriter output = new StringWriter();
+        scorer.score(new BufferedReader(new StringReader(input)), output);
+
+        String[] lines = output.toString().split("\n");
+        assertEquals(6, lines.length);
+        assertEquals("300", lines[0]);
+        assertEquals("90", lines[1]);
+        assertTrue(lines[2].startsWith("INVALID "));
+        assertEquals("275", lines[3]);
+        assertEquals("INVALID Invalid result at token 2", lines[4]);
+        assertEquals("INVALID Invalid number of parameters: must be 10 or 12 at token 13", lines[5]);
+
+        assertEquals(6, scorer.getNumGames());
+        assertEquals(3, scorer.getNumInvalid());
+    }
+}
@@ -0,0 +1,104 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteGameParserTest {
+
+    private static final String[] LINES = {
+            "X X X X X X X X X X X X",
+            "9- 9- 9- 9- 9- 9- 9- 9- 9- 9-",
+            "",
+            "X X X X X X X X X  4/5",
+            "X X X X X X X X X 4/10",
+            "X X a X X X X X X X X X",
+            "\tX X X X X X X X X X X X X",
+            "5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/5\r",
+            "X 7/ 9- X -8 8/ -6 X X X X 81",
+            "X X X X X X X X X X X 5-",
+            "X X X X X X X X X X X X X X X X X X X"
+    };
+
+    @Test
+    public void sameAsBatchScorer() {
+        Random random = new Random(17);
+        StringBuilder input = new StringBuilder();
+        String[] lines = new String[1000];
+        for (int i=0; i<lines.length; i++) {
+            lines[i] = LINES[random.nextInt(LINES.length)];
+            input.append(lines[i]).append('\n');
+        }
+
+        // Off heap, as a mapped file would be
+        byte[] bytes = input.toString().getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+
+        ByteGameParser parser = new ByteGameParser();
+        BatchScorer scorer = new BatchScorer();
+        for (String line : lines) {
+            assertTrue(buffer.hasRemaining());
+            String expected = scorer.scoreLine(line.replace("\r", ""));
+            int code = parser.scoreLine(buffer);
+            String actual = ScoreCode.isValid(code) ? String.valueOf(ScoreCode.totalScore(code))
+                    : "INVALID " + ScoreCode.toResult(code);
+            assertEquals(expected, actual, line);
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void endsOfLineAsBatchScorer() throws IOException {
+        String input = "X X X X X X X X X X X X\r9- 9- 9- 9- 9- 9- 9- 9- 9- 9-\r\n\r\r\n"
+                + "5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/5\n\nX X\r";
+        StringWriter output = new StringWriter();
+        new BatchScorer().score(new BufferedReader(new StringReader(input)), output);
+        String[] expected = output.toString().split("\n");
+
+        ByteBuffer buffer = ByteBuffer.wrap(input.getBytes(StandardCharsets.ISO_8859_1));
+        ByteGameParser parser = new ByteGameParser();
+        List<String> actual = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            int code = parser.scoreLine(buffer);
+            actual.add(ScoreCode.isValid(code) ? String.valueOf(ScoreCode.totalScore(code))
+                    : "INVALID " + ScoreCode.toResult(code));
+        }
+        assertEquals(List.of(expected), actual);
+        assertEquals(7, actual.size());
+    }
+
+    @Test
+    public void tooManyTokensAreReported() {
+        List<String> failures = new ArrayList<>();
+        ByteGameParser parser = new ByteGameParser();
+        parser.setListener(new GameListener() {
+            @Override
+            public void gameFailed(String reason) {
+                failures.add(reason);
+            }
+        });
+        String line = LINES[LINES.length - 1];
+        parser.scoreLine(ByteBuffer.wrap(line.getBytes(StandardCharsets.ISO_8859_1)));
+
+        BatchScorer scorer = new BatchScorer();
+        assertEquals(List.of(scorer.scoreLine(line).substring("INVALID ".length())), failures);
+    }
+
+    @Test
+    public void lastLineWithoutEndOfLine() {
+        ByteBuffer buffer = ByteBuffer.wrap("9- 9- 9- 9- 9- 9- 9- 9- 9- 9-\nX X X X X X X X X X X X".getBytes(StandardCharsets.ISO_8859_1));
+        ByteGameParser parser = new ByteGameParser();
+        assertEquals(90, parser.scoreLine(buffer));
+        assertEquals(300, parser.scoreLine(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+}
@@ -0,0 +1,77 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarScorerTest {
+
+    private static final String[] TOKENS = {
+            "X", "X", "X", "1/", "5/", "9/", "-5", "5-", "9-", "12", "45", "81", "55", "5/5", "7/10", "3/90"
+    };
+
+    @Test
+    public void vectorized() {
+        // vectorTest runs the tests with the jdk.incubator.vector module, test without, see build.gradle
+        assertEquals(Boolean.getBoolean("columnar.vectorized"), ColumnarScorer.VECTORIZED);
+    }
+
+    @Test
+    public void sameAsGame() {
+        Random random = new Random(14);
+        ScoringEngine engine = new ScoringEngine();
+        List<String[]> games = new ArrayList<>();
+        while (games.size() < 5003) {
+            String[] tokens = new String[random.nextBoolean() ? 10 : 12];
+            for (int i=0; i<tokens.length; i++) {
+                tokens[i] = TOKENS[random.nextInt(TOKENS.length)];
+            }
+            if (engine.scoreGame(tokens).isValid()) {
+                games.add(tokens);
+            }
+        }
+
+        ColumnarScorer scorer = new ColumnarScorer(1000);
+        int[] totals = new int[scorer.getCapacity()];
+        int[] scalarTotals = new int[scorer.getCapacity()];
+        for (int start=0; start<games.size(); start+=scorer.getCapacity()) {
+            scorer.clear();
+            int next = start;
+            while (next < games.size() && scorer.add(results(games.get(next)), games.get(next).length)) {
+                next++;
+            }
+            scorer.score(totals);
+            scorer.scoreScalar(0, scorer.getNumGames(), scalarTotals);
+
+            for (int g=0; g<scorer.getNumGames(); g++) {
+                String[] tokens = games.get(start + g);
+                Game game = new Game(Game.MAX_FRAMES);
+                game.start(tokens);
+                assertEquals(game.getTotalScore(), totals[g], String.join(" ", tokens));
+                assertEquals(game.getTotalScore(), scalarTotals[g], String.join(" ", tokens));
+            }
+        }
+    }
+
+    @Test
+    public void full() {
+        ColumnarScorer scorer = new ColumnarScorer(1);
+        int[] perfect = results("X X X X X X X X X X X X".split(" "));
+        assertTrue(scorer.add(perfect, perfect.length));
+        assertFalse(scorer.add(perfect, perfect.length));
+
+        int[] totals = new int[1];
+        scorer.score(totals);
+        assertEquals(300, totals[0]);
+    }
+
+    private static int[] results(String[] tokens) {
+        int[] results = new int[tokens.length];
+        for (int i=0; i<tokens.length; i++) {
+            results[i] = FrameLexer.classify(tokens[i]);
+        }
+        return results;
+    }
+}
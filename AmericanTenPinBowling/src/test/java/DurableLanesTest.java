@@ -0,0 +1,187 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableLanesTest {
+
+    private static final int[] PERFECT = { 10,10,10,10,10,10,10,10,10,10,10,10 };
+
+    private static final int[] GAME = { 10,7,3,9,0,10,0,8,8,2,0,6,10,10,10,8,1 };
+
+    // The longest game, 22 rolls
+    private static final int[] LONGEST = { 9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0,10,10,3,4 };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void recoversGamesInProgress() throws IOException {
+        try (DurableLanes lanes = open()) {
+            assertEquals(10, lanes.roll(1, 1, 10));
+            assertEquals(14, lanes.roll(1, 1, 4));
+            lanes.roll(2, 1, 7);
+            assertEquals(2, lanes.getNumGames());
+        }
+
+        try (DurableLanes lanes = open()) {
+            assertEquals(3, lanes.getNumRecovered());
+            assertEquals(2, lanes.getNumGames());
+            GameSnapshot snapshot = lanes.snapshot(1, 1);
+            assertEquals(14, snapshot.getTotalScore());
+            assertEquals(1, snapshot.getCurrentFrame());
+            assertEquals(7, lanes.snapshot(2, 1).getTotalScore());
+            assertNull(lanes.snapshot(3, 1));
+
+            // Rolls go on where they were
+            assertEquals(26, lanes.roll(1, 1, 4));
+        }
+    }
+
+    @Test
+    public void recoversAfterSnapshots() throws IOException {
+        LiveGame expected = new LiveGame();
+        try (DurableLanes lanes = open()) {
+            for (int i=0; i<GAME.length - 1; i++) {
+                expected.roll(GAME[i]);
+                assertEquals(expected.getTotalScore(), lanes.roll(5, 42, GAME[i]));
+                if (i % 4 == 3) {
+                    lanes.snapshot();
+                }
+            }
+            assertEquals(4, lanes.getGeneration());
+        }
+
+        try (DurableLanes lanes = open()) {
+            // Only the rolls after the last snapshot are replayed
+            assertEquals(0, lanes.getNumRecovered());
+            assertEquals(expected.getTotalScore(), lanes.snapshot(5, 42).getTotalScore());
+            assertEquals(expected.getCurrentFrame(), lanes.snapshot(5, 42).getCurrentFrame());
+
+            expected.roll(GAME[GAME.length - 1]);
+            assertEquals(expected.getTotalScore(), lanes.roll(5, 42, GAME[GAME.length - 1]));
+        }
+    }
+
+    @Test
+    public void replaysTheLongestGame() throws IOException {
+        LiveGame expected = new LiveGame();
+        try (DurableLanes lanes = open()) {
+            for (int i=0; i<LONGEST.length - 1; i++) {
+                expected.roll(LONGEST[i]);
+                assertEquals(expected.getTotalScore(), lanes.roll(3, 7, LONGEST[i]));
+            }
+        }
+
+        try (DurableLanes lanes = open()) {
+            assertEquals(LONGEST.length - 1, lanes.getNumRecovered());
+            assertEquals(expected.getTotalScore(), lanes.snapshot(3, 7).getTotalScore());
+            // A snapshot holds all the rolls but the last
+            lanes.snapshot();
+        }
+
+        try (DurableLanes lanes = open()) {
+            assertEquals(0, lanes.getNumRecovered());
+            expected.roll(LONGEST[LONGEST.length - 1]);
+            assertTrue(expected.isGameOver());
+            assertEquals(expected.getTotalScore(), lanes.roll(3, 7, LONGEST[LONGEST.length - 1]));
+            assertEquals(0, lanes.getNumGames());
+        }
+    }
+
+    @Test
+    public void recoversWithoutClose() throws IOException {
+        DurableLanes crashed = open();
+        try {
+            crashed.roll(1, 1, 10);
+            crashed.snapshot();
+            crashed.roll(1, 1, 3);
+            crashed.roll(1, 2, 5);
+
+            // The rolls are in the mapped logs, whether they were forced or not
+            try (DurableLanes lanes = open()) {
+                assertEquals(2, lanes.getNumRecovered());
+                assertEquals(13, lanes.snapshot(1, 1).getTotalScore());
+                assertEquals(5, lanes.snapshot(1, 2).getTotalScore());
+            }
+        } finally {
+            crashed.close();
+        }
+    }
+
+    @Test
+    public void switchesFromADurableLog() throws IOException {
+        // Rolls are only forced by sync() and snapshots
+        try (DurableLanes lanes = open()) {
+            lanes.roll(1, 1, 10);
+            lanes.roll(1, 1, 3);
+            assertEquals(2, lanes.getNumUncommitted());
+
+            // The snapshot file cannot be written, so a crash after the switch recovers from the logs alone
+            Files.createDirectories(dir.resolve(DurableLanes.SNAPSHOT_FILE + ".tmp"));
+            assertThrows(IOException.class, lanes::snapshot);
+            assertEquals(1, lanes.getGeneration());
+            lanes.roll(1, 1, 5);
+
+            // Only the roll of the new log can be lost, the previous log has no gap
+            assertEquals(1, lanes.getNumUncommitted());
+        }
+    }
+
+    @Test
+    public void finishedGamesAreDropped() throws IOException {
+        try (DurableLanes lanes = open()) {
+            int total = 0;
+            for (int pins : PERFECT) {
+                total = lanes.roll(3, 7, pins);
+            }
+            assertEquals(300, total);
+            assertEquals(0, lanes.getNumGames());
+
+            // The same game number starts a new game
+            assertEquals(4, lanes.roll(3, 7, 4));
+        }
+
+        try (DurableLanes lanes = open()) {
+            assertEquals(1, lanes.getNumGames());
+            assertEquals(4, lanes.snapshot(3, 7).getTotalScore());
+        }
+    }
+
+    @Test
+    public void invalidRollsAreNotLogged() throws IOException {
+        try (DurableLanes lanes = open()) {
+            lanes.roll(1, 1, 7);
+            assertThrows(IllegalArgumentException.class, () -> lanes.roll(1, 1, 5));
+            assertThrows(IllegalArgumentException.class, () -> lanes.roll(1, 1, 11));
+        }
+
+        try (DurableLanes lanes = open()) {
+            assertEquals(1, lanes.getNumRecovered());
+            assertEquals(10, lanes.roll(1, 1, 3));
+        }
+    }
+
+    @Test
+    public void rollsWhichAreNotLoggedAreTakenBack() throws IOException {
+        DurableLanes lanes = open();
+        lanes.roll(1, 1, 7);
+        lanes.close();
+
+        // The logs are closed, so the append fails
+        assertThrows(IOException.class, () -> lanes.roll(1, 1, 3));
+        assertEquals(7, lanes.snapshot(1, 1).getTotalScore());
+        assertEquals(0, lanes.snapshot(1, 1).getCurrentFrame());
+        assertThrows(IOException.class, () -> lanes.roll(1, 1, 2));
+        assertEquals(7, lanes.snapshot(1, 1).getTotalScore());
+    }
+
+    private DurableLanes open() throws IOException {
+        return new DurableLanes(dir, 0, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,85 @@
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameLexerTest {
+
+    // The patterns Game used before the lexer
+    private static final Pattern strikePattern = Pattern.compile("[X]{1}");
+
+    private static final Pattern sparePattern = Pattern.compile("[1-9]{1}[/]{1}");
+
+    private static final Pattern lastSparePattern = Pattern.compile("[1-9]{1}[/]{1}[1-9]{1}[0]?");
+
+    private static final Pattern regularPattern = Pattern.compile("([1-9]{1}[/-]{1})|([-]{1}[1-9]{1})|([1-9]{2})");
+
+    private static final String ALPHABET = "X/-0123456789x ";
+
+    @Test
+    public void sameAsPatterns() {
+        checkAll("", 5);
+    }
+
+    private void checkAll(String token, int maxLength) {
+        int kind = FrameLexer.kind(FrameLexer.classify(token));
+
+        // In place, between other bytes
+        ByteBuffer buffer = ByteBuffer.wrap(("X" + token + "/").getBytes(StandardCharsets.ISO_8859_1));
+        assertEquals(FrameLexer.classify(token), FrameLexer.classify(buffer, 1, 1 + token.length()), token);
+
+        assertEquals(strikePattern.matcher(token).matches(), kind == FrameLexer.STRIKE, token);
+        assertEquals(sparePattern.matcher(token).matches(), kind == FrameLexer.SPARE, token);
+        assertEquals(lastSparePattern.matcher(token).matches(), kind == FrameLexer.LAST_SPARE, token);
+        assertEquals(regularPattern.matcher(token).matches(),
+                kind == FrameLexer.REGULAR || kind == FrameLexer.SPARE, token);
+
+        if (token.length() < maxLength) {
+            for (int i=0; i<ALPHABET.length(); i++) {
+                checkAll(token + ALPHABET.charAt(i), maxLength);
+            }
+        }
+    }
+
+    @Test
+    public void invalid() {
+        assertEquals(FrameLexer.INVALID, FrameLexer.classify(null));
+        assertEquals(FrameLexer.INVALID, FrameLexer.classify(""));
+        assertEquals(FrameLexer.INVALID, FrameLexer.classify("--"));
+        assertEquals(FrameLexer.INVALID, FrameLexer.classify("0/"));
+        assertEquals(FrameLexer.INVALID, FrameLexer.classify("5/0"));
+    }
+
+    @Test
+    public void pins() {
+        int result = FrameLexer.classify("X");
+        assertEquals(10, FrameLexer.first(result));
+
+        result = FrameLexer.classify("7/");
+        assertEquals(FrameLexer.SPARE, FrameLexer.kind(result));
+        assertEquals(7, FrameLexer.first(result));
+        assertEquals(3, FrameLexer.second(result));
+
+        result = FrameLexer.classify("4/10");
+        assertEquals(FrameLexer.LAST_SPARE, FrameLexer.kind(result));
+        assertEquals(4, FrameLexer.first(result));
+        assertEquals(6, FrameLexer.second(result));
+        assertEquals(10, FrameLexer.bonus(result));
+
+        result = FrameLexer.classify("-8");
+        assertEquals(FrameLexer.REGULAR, FrameLexer.kind(result));
+        assertEquals(0, FrameLexer.first(result));
+        assertEquals(8, FrameLexer.second(result));
+
+        result = FrameLexer.classify("9-");
+        assertEquals(9, FrameLexer.first(result));
+        assertEquals(0, FrameLexer.second(result));
+
+        result = FrameLexer.classify("45");
+        assertEquals(4, FrameLexer.first(result));
+        assertEquals(5, FrameLexer.second(result));
+    }
+}
@@ -0,0 +1,60 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameArchiveTest {
+
+    private static final String[][] GAMES = {
+            { "X","X","X","X","X","X","X","X","X","X","X","X" },
+            { "5/","5/","5/","5/","5/","5/","5/","5/","5/","5/5" },
+            { "9-","9-","9-","9-","9-","9-","9-","9-","9-","9-" },
+            { "X","X","X","X","X","X","X","X","X","4/10" },
+            { "X","7/","9-","X","-8","8/","-6","X","X","4/90" },
+            { "X","7/","9-","X","-8","8/","-6","X","X","X","X","81" },
+            { "12","34","55","-1","1-","12","34","55","-1","X","X","9/" }
+    };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void writeAndRead() throws IOException {
+        Path path = dir.resolve("games.bin");
+        try (GameArchiveWriter writer = new GameArchiveWriter(path)) {
+            for (String[] game : GAMES) {
+                assertTrue(writer.write(game).isValid());
+            }
+            assertFalse(writer.write(new String[] { "X","a" }).isValid());
+            assertEquals(GAMES.length, writer.getNumGames());
+        }
+
+        ScoringEngine engine = new ScoringEngine();
+        int[] results = new int[ScoringEngine.MAX_TOKENS];
+        try (GameArchiveReader reader = new GameArchiveReader(path)) {
+            assertEquals(GAMES.length, reader.getNumGames());
+
+            for (int i=0; i<GAMES.length; i++) {
+                assertEquals(engine.scoreGame(GAMES[i]).getTotalScore(), reader.score(i));
+
+                // Round trip
+                assertEquals(GAMES[i].length, reader.decode(i, results));
+                for (int j=0; j<GAMES[i].length; j++) {
+                    assertEquals(FrameLexer.classify(GAMES[i][j]), results[j]);
+                }
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.score(GAMES.length));
+        }
+    }
+
+    @Test
+    public void notAnArchive() throws IOException {
+        Path path = dir.resolve("games.txt");
+        Files.writeString(path, "X X X X X X X X X X X X\n");
+        assertThrows(IOException.class, () -> new GameArchiveReader(path));
+    }
+}
@@ -0,0 +1,105 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameGeneratorTest {
+
+    private static final int NUM_GAMES = 20000;
+
+    @Test
+    public void validGames() {
+        GameGenerator.Skill[] skills = { GameGenerator.Skill.BEGINNER, GameGenerator.Skill.LEAGUE, GameGenerator.Skill.PRO,
+                new GameGenerator.Skill("perfect", 1, 1), new GameGenerator.Skill("gutter", 0, 0) };
+        ScoringEngine engine = new ScoringEngine();
+        for (GameGenerator.Skill skill : skills) {
+            GameGenerator generator = new GameGenerator(42, 0, skill);
+            String[] tokens = new String[GameGenerator.MAX_TOKENS];
+            for (int i=0; i<NUM_GAMES; i++) {
+                String[] game = Arrays.copyOf(tokens, generator.nextGame(tokens));
+                // Game.isInputValid() rejects all the 10th frame spares
+                boolean lastSpare = Game.isResultLastSpare(game[Game.MAX_FRAMES - 1]);
+                assertEquals(!lastSpare, Game.isInputValid(game), skill + " " + Arrays.toString(game));
+                ScoreResult result = engine.scoreGame(game);
+                assertTrue(result.isValid(), skill + " " + Arrays.toString(game) + " " + result);
+
+                Game scored = new Game(game.length);
+                scored.start(game);
+                assertEquals(scored.getTotalScore(), result.getTotalScore(), Arrays.toString(game));
+            }
+            assertEquals(NUM_GAMES, generator.getNumGames());
+            assertEquals(0, generator.getNumMalformed());
+        }
+
+        assertEquals("X X X X X X X X X X X X", new GameGenerator(1, 0, skills[3]).nextLine());
+    }
+
+    @Test
+    public void skills() {
+        double beginner = meanScore(GameGenerator.Skill.BEGINNER);
+        double league = meanScore(GameGenerator.Skill.LEAGUE);
+        double pro = meanScore(GameGenerator.Skill.PRO);
+        assertTrue(beginner < league && league < pro, beginner + " " + league + " " + pro);
+        assertTrue(beginner > 50 && pro < 250, beginner + " " + pro);
+    }
+
+    @Test
+    public void malformedGames() {
+        GameGenerator generator = new GameGenerator(7, 0.25, GameGenerator.Skill.LEAGUE);
+        ScoringEngine engine = new ScoringEngine();
+        String[] tokens = new String[GameGenerator.MAX_TOKENS];
+        int numInvalid = 0;
+        for (int i=0; i<NUM_GAMES; i++) {
+            int numTokens = generator.nextGame(tokens);
+            if (!ScoreCode.isValid(engine.scoreCode(tokens, numTokens))) {
+                numInvalid++;
+            }
+        }
+        // Every malformed game is rejected
+        assertEquals(generator.getNumMalformed(), numInvalid);
+        assertEquals(0.25, (double) numInvalid / NUM_GAMES, 0.02);
+    }
+
+    @Test
+    public void seeded() throws IOException {
+        StringWriter first = new StringWriter();
+        new GameGenerator(3, 0.1, GameGenerator.Skill.LEAGUE).write(first, 1000);
+        StringWriter second = new StringWriter();
+        new GameGenerator(3, 0.1, GameGenerator.Skill.LEAGUE).write(second, 1000);
+        assertEquals(first.toString(), second.toString());
+
+        GameGenerator other = new GameGenerator(4, 0.1, GameGenerator.Skill.LEAGUE);
+        assertNotEquals(first.toString().lines().findFirst().orElseThrow(), other.nextLine());
+
+        // The lines are scored by BatchScorer
+        BatchScorer scorer = new BatchScorer();
+        StringWriter scores = new StringWriter();
+        scorer.score(new BufferedReader(new StringReader(first.toString())), scores);
+        assertEquals(1000, scorer.getNumGames());
+        assertTrue(scorer.getNumInvalid() > 50 && scorer.getNumInvalid() < 150, String.valueOf(scorer.getNumInvalid()));
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new GameGenerator(1, 1.5, GameGenerator.Skill.PRO));
+        assertThrows(IllegalArgumentException.class, () -> new GameGenerator(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GameGenerator.Skill("super", 1.1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GameGenerator.Skill("minus", 0, -0.1));
+    }
+
+    private static double meanScore(GameGenerator.Skill skill) {
+        GameGenerator generator = new GameGenerator(11, 0, skill);
+        ScoringEngine engine = new ScoringEngine();
+        String[] tokens = new String[GameGenerator.MAX_TOKENS];
+        long total = 0;
+        for (int i=0; i<NUM_GAMES; i++) {
+            total += engine.scoreCode(tokens, generator.nextGame(tokens));
+        }
+        return (double) total / NUM_GAMES;
+    }
+}
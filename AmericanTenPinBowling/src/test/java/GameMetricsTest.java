@@ -0,0 +1,102 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMetricsTest {
+
+    @Test
+    public void game() {
+        GameMetrics metrics = new GameMetrics();
+
+        Game game = new Game(Game.MAX_FRAMES);
+        game.setListener(metrics);
+        game.start(new String[] { "X", "7/", "9-", "X", "-8", "8/", "-6", "X", "X", "X", "81" });
+        assertEquals(185, game.getTotalScore());
+
+        Game invalid = new Game(Game.MAX_FRAMES);
+        invalid.setListener(metrics);
+        invalid.start(new String[] { "X", "a-" });
+
+        assertEquals(1, metrics.getNumGames());
+        assertEquals(5, metrics.getNumStrikes());
+        assertEquals(2, metrics.getNumSpares());
+        assertEquals(1, metrics.getNumFailures());
+        assertEquals(1, metrics.getLatency(GameListener.Stage.PARSE).getCount());
+        assertEquals(1, metrics.getLatency(GameListener.Stage.CALCULATE_TOTAL).getCount());
+        assertEquals(0, metrics.getLatency(GameListener.Stage.SCORE).getCount());
+    }
+
+    @Test
+    public void scoringEngine() {
+        GameMetrics metrics = new GameMetrics();
+        ScoringEngine engine = new ScoringEngine();
+        engine.setListener(metrics);
+
+        assertEquals(300, engine.scoreGame("X X X X X X X X X X X X".split(" ")).getTotalScore());
+        assertEquals(275, engine.scoreGame("X X X X X X X X X 4/5".split(" ")).getTotalScore());
+        assertFalse(engine.scoreGame("X X".split(" ")).isValid());
+
+        assertEquals(2, metrics.getNumGames());
+        assertEquals(10 + 9, metrics.getNumStrikes());
+        assertEquals(1, metrics.getNumSpares());
+        assertEquals(1, metrics.getNumFailures());
+        assertEquals(3, metrics.getLatency(GameListener.Stage.SCORE).getCount());
+        assertTrue(metrics.report().startsWith("Games: 2, strikes: 19, spares: 1, failures: 1\nSCORE: count=3"));
+    }
+
+    @Test
+    public void failuresOnlyGoToTheListener() {
+        List<String> reasons = new ArrayList<>();
+        GameListener listener = new GameListener() {
+            @Override
+            public void gameFailed(String reason) {
+                reasons.add(reason);
+            }
+        };
+
+        PrintStream err = System.err;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(printed, true));
+        try {
+            Game game = new Game(Game.MAX_FRAMES);
+            game.setListener(listener);
+            game.start(new String[] { "X", "a-" });
+
+            // Nothing is reported without a listener either
+            new Game(Game.MAX_FRAMES).start(new String[] { "X", "a-" });
+
+            ScoringEngine engine = new ScoringEngine();
+            engine.setListener(listener);
+            engine.scoreGame("X X".split(" "));
+        } finally {
+            System.setErr(err);
+        }
+
+        assertEquals(0, printed.size());
+        assertEquals(2, reasons.size());
+        assertEquals("Invalid number of parameters: must be 10 or 12 at token 2", reasons.get(1));
+    }
+
+    @Test
+    public void latencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i=1; i<=100; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50500, histogram.getMeanNanos());
+        assertEquals(100000, histogram.getMaxNanos());
+
+        // Within a factor of 2
+        long p50 = histogram.getPercentileNanos(50);
+        assertTrue(p50 >= 50000 && p50 < 100000, "p50 " + p50);
+        long p100 = histogram.getPercentileNanos(100);
+        assertTrue(p100 >= 100000 && p100 < 200000, "p100 " + p100);
+    }
+}
@@ -0,0 +1,143 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStoreTest {
+
+    private static final int[][] GAMES = {
+            { 10,10,10,10,10,10,10,10,10,10,10,10 },
+            { 9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0 },
+            { 5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5 },
+            { 10,7,3,9,0,10,0,8,8,2,0,6,10,10,10,10,8,1 },
+            // The longest game
+            { 9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0,10,10,3,4 }
+    };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void appendAndRead() throws IOException {
+        Path path = dir.resolve("games.store");
+        // Small segments, so the games span several
+        try (GameStore store = new GameStore(path, 3)) {
+            for (int round=0; round<3; round++) {
+                for (int[] rolls : GAMES) {
+                    store.append(rolls, rolls.length);
+                }
+            }
+            assertEquals(3 * GAMES.length, store.getNumGames());
+            assertGames(store);
+        }
+        assertEquals(GameStore.HEADER_SIZE + 3 * GAMES.length * GameStore.RECORD_SIZE, Files.size(path));
+
+        try (GameStore store = new GameStore(path, 3)) {
+            assertGames(store);
+            assertEquals(3 * GAMES.length, store.append(GAMES[0], GAMES[0].length));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getTotalScore(store.getNumGames()));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getFrameScore(0, Game.MAX_FRAMES));
+        }
+    }
+
+    @Test
+    public void scan() throws IOException {
+        try (GameStore store = new GameStore(dir.resolve("games.store"), 4)) {
+            assertEquals(0, store.append(GAMES));
+            assertEquals(GAMES.length, store.append(GAMES));
+
+            long[] count = { 0 };
+            long[] total = { 0 };
+            store.scan((id, rolls, numRolls, frameScores, totalScore) -> {
+                int[] expected = GAMES[(int) (id % GAMES.length)];
+                assertArrayEquals(expected, Arrays.copyOf(rolls, numRolls));
+                assertEquals(totalScore, Arrays.stream(frameScores).sum());
+                count[0]++;
+                total[0] += totalScore;
+            });
+            assertEquals(2 * GAMES.length, count[0]);
+            assertEquals(2 * Arrays.stream(GAMES).mapToInt(GameStoreTest::score).sum(), total[0]);
+
+            // A range
+            count[0] = 0;
+            store.scan(3, 6, (id, rolls, numRolls, frameScores, totalScore) -> count[0]++);
+            assertEquals(3, count[0]);
+            assertThrows(IndexOutOfBoundsException.class, () -> store.scan(0, store.getNumGames() + 1, (id, rolls, numRolls, frameScores, totalScore) -> {}));
+        }
+    }
+
+    @Test
+    public void invalidGames() throws IOException {
+        try (GameStore store = new GameStore(dir.resolve("games.store"))) {
+            assertThrows(IllegalArgumentException.class, () -> store.append(new int[] { 7,4 }, 2));
+            assertThrows(IllegalArgumentException.class, () -> store.append(new int[] { 10,10 }, 2));
+            assertThrows(IllegalArgumentException.class, () -> store.append(new int[] { 0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0 }, 21));
+
+            // A bulk append is all or nothing
+            assertThrows(IllegalArgumentException.class, () -> store.append(new int[][] { GAMES[0], { 11 } }));
+            assertEquals(0, store.getNumGames());
+        }
+    }
+
+    @Test
+    public void closed() throws IOException {
+        Path path = dir.resolve("games.store");
+        GameStore store = new GameStore(path, 3);
+        store.append(GAMES);
+        store.close();
+        // Closing again does nothing
+        store.close();
+
+        int[] rolls = new int[GameStore.MAX_ROLLS];
+        assertThrows(IllegalStateException.class, () -> store.append(GAMES[0], GAMES[0].length));
+        assertThrows(IllegalStateException.class, () -> store.append(GAMES));
+        assertThrows(IllegalStateException.class, () -> store.getTotalScore(0));
+        assertThrows(IllegalStateException.class, () -> store.getFrameScore(0, 0));
+        assertThrows(IllegalStateException.class, () -> store.getNumStrikes(0));
+        assertThrows(IllegalStateException.class, () -> store.getNumSpares(0));
+        assertThrows(IllegalStateException.class, () -> store.getRolls(0, rolls));
+        assertThrows(IllegalStateException.class, () -> store.scan((id, r, numRolls, frameScores, totalScore) -> {}));
+        assertThrows(IllegalStateException.class, store::sync);
+        assertEquals(GAMES.length, store.getNumGames());
+
+        assertEquals(GameStore.HEADER_SIZE + GAMES.length * GameStore.RECORD_SIZE, Files.size(path));
+        try (GameStore reopened = new GameStore(path, 3)) {
+            assertGames(reopened);
+        }
+    }
+
+    @Test
+    public void notAStore() throws IOException {
+        Path path = dir.resolve("games.txt");
+        Files.writeString(path, "X X X X X X X X X X X X\n");
+        assertThrows(IOException.class, () -> new GameStore(path));
+    }
+
+    private static void assertGames(GameStore store) {
+        int[] rolls = new int[GameStore.MAX_ROLLS];
+        for (long id=0; id<store.getNumGames(); id++) {
+            int[] expected = GAMES[(int) (id % GAMES.length)];
+            LiveGame game = new LiveGame();
+            for (int pins : expected) {
+                game.roll(pins);
+            }
+            assertEquals(game.getTotalScore(), store.getTotalScore(id));
+            for (int frame=0; frame<Game.MAX_FRAMES; frame++) {
+                assertEquals(game.getFrameScore(frame), store.getFrameScore(id, frame));
+            }
+            assertEquals(expected.length, store.getRolls(id, rolls));
+            assertArrayEquals(expected, Arrays.copyOf(rolls, expected.length));
+        }
+        assertEquals(10, store.getNumStrikes(0));
+        assertEquals(10, store.getNumSpares(2));
+    }
+
+    private static int score(int[] rolls) {
+        return GameRules.STANDARD.scorer().scoreCode(rolls, rolls.length);
+    }
+}
@@ -237,6 +237,20 @@ class GameTest {
         assertEquals(90,game.getTotalScore());
     }
 
+    @Test
+    public void reset() {
+        Game game = new Game(Game.MAX_FRAMES);
+        game.start(new String[] { "X","X","X","X","X","X","X","X","X","X","X","X" });
+        assertEquals(300, game.getTotalScore());
+
+        game.reset();
+        assertEquals(0, game.getTotalScore());
+        game.start(new String[] { "12","--","-4","8-","5/","5/","X","X","X","X","X","X" });
+        Game expected = new Game(Game.MAX_FRAMES);
+        expected.start(new String[] { "12","--","-4","8-","5/","5/","X","X","X","X","X","X" });
+        assertEquals(expected.getTotalScore(), game.getTotalScore());
+    }
+
     @Test
     public void allStrikes10thSpare11thSpare() {
         String[] tokens = { "X","X","X","X","X","X","X","X","X","4/5" };
@@ -0,0 +1,165 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LaneSessionManagerTest {
+
+    private static final int NUM_LANES = 2000;
+
+    private static final String[] PLAYERS = { "Alice", "Bob" };
+
+    private static final int[][] GAMES = {
+            { 10,10,10,10,10,10,10,10,10,10,10,10 },
+            { 9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0 },
+            { 5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5 },
+            { 10,7,3,9,0,10,0,8,8,2,0,6,10,10,10,8,1 }
+    };
+
+    @Test
+    public void sessions() {
+        LaneSessionManager manager = new LaneSessionManager();
+        manager.startGame(1, "Alice");
+        assertThrows(IllegalStateException.class, () -> manager.startGame(1, "Alice"));
+        assertThrows(IllegalStateException.class, () -> manager.roll(2, "Alice", 5));
+
+        assertEquals(10, manager.roll(1, "Alice", 10));
+        assertEquals(14, manager.roll(1, "Alice", 4));
+        GameSnapshot snapshot = manager.snapshot(1, "Alice");
+        assertEquals(14, snapshot.getTotalScore());
+        assertEquals(10, snapshot.getFrameScore(0));
+        assertEquals(1, snapshot.getCurrentFrame());
+        assertFalse(snapshot.isGameOver());
+
+        assertEquals(14, manager.endGame(1, "Alice").getTotalScore());
+        assertNull(manager.snapshot(1, "Alice"));
+        assertEquals(0, manager.getNumGames());
+    }
+
+    @Test
+    public void sameAsLiveGame() throws Exception {
+        LaneSessionManager manager = new LaneSessionManager();
+        int numThreads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            // Every thread plays its own lanes, two games each
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t=0; t<numThreads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int round=0; round<2; round++) {
+                        for (int lane=thread; lane<NUM_LANES; lane+=numThreads) {
+                            for (String player : PLAYERS) {
+                                manager.startGame(lane, player);
+                            }
+                            for (String player : PLAYERS) {
+                                for (int pins : game(lane, player, round)) {
+                                    manager.roll(lane, player, pins);
+                                }
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(NUM_LANES * PLAYERS.length, manager.getNumGames());
+        for (int lane=0; lane<NUM_LANES; lane++) {
+            for (String player : PLAYERS) {
+                LiveGame expected = new LiveGame();
+                for (int pins : game(lane, player, 1)) {
+                    expected.roll(pins);
+                }
+                GameSnapshot snapshot = manager.snapshot(lane, player);
+                assertTrue(snapshot.isGameOver());
+                assertEquals(expected.getTotalScore(), snapshot.getTotalScore(), snapshot.toString());
+            }
+        }
+    }
+
+    // Many threads rolling into the same games while others read snapshots
+    @Test
+    public void loadTest() throws Exception {
+        LaneSessionManager manager = new LaneSessionManager();
+        for (int lane=0; lane<NUM_LANES; lane++) {
+            for (String player : PLAYERS) {
+                manager.startGame(lane, player);
+            }
+        }
+
+        // A perfect game takes 12 strikes, one from every thread in any order
+        int numThreads = 12;
+        int numReaders = 2;
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads + numReaders);
+        AtomicBoolean done = new AtomicBoolean();
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r=0; r<numReaders; r++) {
+                readers.add(executor.submit(() -> {
+                    while (!done.get()) {
+                        for (GameSnapshot snapshot : manager.snapshots()) {
+                            int sum = 0;
+                            for (int i=0; i<Game.MAX_FRAMES; i++) {
+                                sum += snapshot.getFrameScore(i);
+                            }
+                            assertEquals(snapshot.getTotalScore(), sum, snapshot.toString());
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t=0; t<numThreads; t++) {
+                long seed = t;
+                writers.add(executor.submit(() -> {
+                    List<Integer> lanes = new ArrayList<>();
+                    for (int lane=0; lane<NUM_LANES; lane++) {
+                        lanes.add(lane);
+                    }
+                    Collections.shuffle(lanes, new Random(seed));
+                    for (int lane : lanes) {
+                        for (String player : PLAYERS) {
+                            manager.roll(lane, player, 10);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            done.set(true);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        for (GameSnapshot snapshot : manager.snapshots()) {
+            assertTrue(snapshot.isGameOver());
+            assertEquals(300, snapshot.getTotalScore());
+        }
+    }
+
+    private static int[] game(int lane, String player, int round) {
+        return GAMES[(lane + player.length() + round) % GAMES.length];
+    }
+}
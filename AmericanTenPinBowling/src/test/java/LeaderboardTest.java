@@ -0,0 +1,75 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    @Test
+    public void sameAsSorting() {
+        Random random = new Random(12);
+        int[] scores = new int[10_000];
+        Leaderboard leaderboard = new Leaderboard();
+        for (int i=0; i<scores.length; i++) {
+            scores[i] = random.nextInt(Leaderboard.MAX_GAME_SCORE + 1);
+            leaderboard.add(scores[i]);
+        }
+
+        int[] sorted = scores.clone();
+        Arrays.sort(sorted);
+        int[] top = new int[100];
+        for (int i=0; i<top.length; i++) {
+            top[i] = sorted[sorted.length - 1 - i];
+        }
+        assertArrayEquals(top, leaderboard.topK(100));
+        assertEquals(scores.length, leaderboard.getNumGames());
+
+        for (int score : new int[] { 0, 1, 150, 299, 300 }) {
+            long above = Arrays.stream(scores).filter(s -> s > score).count();
+            long below = Arrays.stream(scores).filter(s -> s < score).count();
+            assertEquals(above + 1, leaderboard.rank(score));
+            assertEquals(100.0 * below / scores.length, leaderboard.percentile(score), 1e-9);
+        }
+        assertEquals(sorted[sorted.length / 2 - 1], leaderboard.scoreAtPercentile(50));
+        assertEquals(sorted[0], leaderboard.scoreAtPercentile(0));
+        assertEquals(sorted[sorted.length - 1], leaderboard.scoreAtPercentile(100));
+    }
+
+    @Test
+    public void fedByScoringEngine() {
+        Leaderboard leaderboard = new Leaderboard();
+        GameMetrics metrics = new GameMetrics();
+        ScoringEngine engine = new ScoringEngine();
+        engine.setListener(GameListener.all(metrics, leaderboard));
+
+        engine.scoreGame("X X X X X X X X X X X X".split(" "));
+        engine.scoreGame("9- 9- 9- 9- 9- 9- 9- 9- 9- 9-".split(" "));
+        engine.scoreGame("X X a".split(" "));
+
+        assertArrayEquals(new int[] { 300, 90 }, leaderboard.topK(5));
+        assertArrayEquals(new int[] { 300 }, leaderboard.topK(1));
+        assertArrayEquals(new int[0], leaderboard.topK(0));
+        assertArrayEquals(new int[] { 300, 90 }, leaderboard.topK(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.topK(-1));
+        assertEquals(2, leaderboard.rank(90));
+        assertEquals(2, metrics.getNumGames());
+        assertEquals(1, metrics.getNumFailures());
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.add(301));
+    }
+
+    @Test
+    public void outOfRangeScoresAreDropped() {
+        Leaderboard leaderboard = new Leaderboard();
+        // Game scores the frames after the 10th, beyond a perfect game
+        Game game = new Game(12);
+        game.setListener(leaderboard);
+        game.start("X X X X X X X X X 9/ X X".split(" "));
+        assertEquals(320, game.getTotalScore());
+
+        leaderboard.gameScored(-1, 0, 0);
+        assertEquals(0, leaderboard.getNumGames());
+        assertEquals(2, leaderboard.getNumDropped());
+    }
+}
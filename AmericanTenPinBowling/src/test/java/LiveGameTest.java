@@ -0,0 +1,175 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveGameTest {
+
+    @Test
+    public void allStrikes() {
+        LiveGame game = roll(10,10,10,10,10,10,10,10,10,10,10,10);
+        assertTrue(game.isGameOver());
+        assertEquals(300, game.getTotalScore());
+        assertEquals(30, game.getFrameScore(9));
+    }
+
+    @Test
+    public void all5Spare() {
+        LiveGame game = roll(5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5);
+        assertTrue(game.isGameOver());
+        assertEquals(150, game.getTotalScore());
+    }
+
+    @Test
+    public void runningScore() {
+        LiveGame game = new LiveGame();
+        game.roll(10);
+        assertEquals(10, game.getTotalScore());
+        assertEquals(1, game.getCurrentFrame());
+
+        game.roll(4);
+        assertEquals(14, game.getTotalScore());
+
+        // The strike bonus is resolved by the 2nd attempt
+        game.roll(3);
+        assertEquals(17, game.getFrameScore(0));
+        assertEquals(7, game.getFrameScore(1));
+        assertEquals(24, game.getTotalScore());
+        assertFalse(game.isGameOver());
+    }
+
+    @Test
+    public void listener() {
+        List<String> events = new ArrayList<>();
+        LiveGame game = new LiveGame();
+        game.setListener(new GameListener() {
+            @Override
+            public void frameScored(int frame, int frameScore, int totalScore) {
+                events.add(frame + ":" + frameScore + ":" + totalScore);
+            }
+
+            @Override
+            public void gameScored(int totalScore, int numStrikes, int numSpares) {
+                events.add("over:" + totalScore + ":" + numStrikes + ":" + numSpares);
+            }
+        });
+
+        // The strike bonus comes after the frame it was resolved by
+        game.roll(10);
+        game.roll(4);
+        game.roll(3);
+        assertEquals(List.of("0:10:10", "1:4:14", "1:7:17", "0:17:24"), events);
+
+        events.clear();
+        for (int pins : new int[] { 5,5,0,0,0,0,0,0,0,0,0,0,0,0,0,0 }) {
+            game.roll(pins);
+        }
+        assertEquals("over:39:1:1", events.get(events.size() - 1));
+    }
+
+    @Test
+    public void invalidRolls() {
+        LiveGame game = new LiveGame();
+        assertThrows(IllegalArgumentException.class, () -> game.roll(11));
+        assertThrows(IllegalArgumentException.class, () -> game.roll(-1));
+
+        game.roll(6);
+        assertThrows(IllegalArgumentException.class, () -> game.roll(5));
+
+        LiveGame over = roll(1,2,1,2,1,2,1,2,1,2,1,2,1,2,1,2,1,2,1,2);
+        assertTrue(over.isGameOver());
+        Assertions.assertThrows(IllegalStateException.class, () -> over.roll(1));
+    }
+
+    @Test
+    public void sameAsScoringEngine() {
+        Random random = new Random(11);
+        ScoringEngine engine = new ScoringEngine();
+
+        for (int n=0; n<2000; n++) {
+            List<Integer> rolls = new ArrayList<>();
+            List<String> tokens = new ArrayList<>();
+            for (int frame=0; frame<Game.MAX_FRAMES; frame++) {
+                randomFrame(random, rolls, tokens, frame == Game.MAX_FRAMES-1);
+            }
+
+            LiveGame game = new LiveGame();
+            for (int pins : rolls) {
+                game.roll(pins);
+            }
+            assertTrue(game.isGameOver(), tokens.toString());
+            assertEquals(engine.score(tokens.toArray(new String[0])), game.getTotalScore(), tokens.toString());
+        }
+    }
+
+    // Adds the rolls of a random frame together with its token
+    private static void randomFrame(Random random, List<Integer> rolls, List<String> tokens, boolean last) {
+        int type = random.nextInt(3);
+        if (type == 0) {
+            rolls.add(10);
+            tokens.add("X");
+            if (last) {
+                if (random.nextBoolean()) {
+                    rolls.add(10);
+                    tokens.add("X");
+                    randomBonus(random, rolls, tokens, true);
+                } else {
+                    randomBonus(random, rolls, tokens, false);
+                }
+            }
+        } else if (type == 1) {
+            int first = 1 + random.nextInt(9);
+            rolls.add(first);
+            rolls.add(10 - first);
+            if (last) {
+                int bonus = 1 + random.nextInt(10);
+                rolls.add(bonus);
+                tokens.add(first + "/" + bonus);
+            } else {
+                tokens.add(first + "/");
+            }
+        } else {
+            int first = random.nextInt(10);
+            int second = random.nextInt(10 - first);
+            rolls.add(first);
+            rolls.add(second);
+            tokens.add(pins(first) + pins(second));
+        }
+    }
+
+    // A bonus token after the 10th frame strike, misses are not accepted there
+    private static void randomBonus(Random random, List<Integer> rolls, List<String> tokens, boolean strike) {
+        int type = random.nextInt(strike ? 3 : 2);
+        if (type == 2) {
+            rolls.add(10);
+            tokens.add("X");
+        } else if (type == 1) {
+            int first = 1 + random.nextInt(9);
+            rolls.add(first);
+            rolls.add(10 - first);
+            tokens.add(first + "/");
+        } else {
+            int first = 1 + random.nextInt(8);
+            int second = 1 + random.nextInt(9 - first);
+            rolls.add(first);
+            rolls.add(second);
+            tokens.add("" + first + second);
+        }
+    }
+
+    private static String pins(int pins) {
+        return pins == 0 ? "-" : String.valueOf(pins);
+    }
+
+    private static LiveGame roll(int... rolls) {
+        LiveGame game = new LiveGame();
+        for (int pins : rolls) {
+            game.roll(pins);
+        }
+        return game;
+    }
+}
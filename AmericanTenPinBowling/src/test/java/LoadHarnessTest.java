@@ -0,0 +1,33 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadHarnessTest {
+
+    @Test
+    public void sustainedLoad() throws InterruptedException {
+        for (LoadHarness.Mode mode : LoadHarness.Mode.values()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            LoadHarness harness = new LoadHarness(mode, 2, 5, 0.1);
+            harness.run(300, 100, TimeUnit.MILLISECONDS, new PrintStream(bytes, true, StandardCharsets.UTF_8));
+
+            String report = bytes.toString(StandardCharsets.UTF_8);
+            assertTrue(harness.getNumGames() > 0, report);
+            assertEquals(0.1, (double) harness.getNumInvalid() / harness.getNumGames(), 0.03, report);
+            assertEquals(harness.getNumGames() / 16, harness.getLatencies().getCount(), report);
+            // A header, a line per interval and a summary
+            assertTrue(report.lines().count() >= 5, report);
+            assertTrue(report.contains("Scored " + harness.getNumGames() + " games"), report);
+        }
+    }
+
+    @Test
+    public void invalidThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new LoadHarness(LoadHarness.Mode.ENGINE, 0, 1, 0));
+    }
+}
@@ -0,0 +1,47 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelBatchScorerTest {
+
+    private static final String[] GAMES = {
+            "X X X X X X X X X X X X",
+            "9- 9- 9- 9- 9- 9- 9- 9- 9- 9-",
+            "X X X X X X X X X 4/5",
+            "5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/5",
+            "X 7/ 9- X -8 8/ -6 X X X X 81",
+            "X X a"
+    };
+
+    @Test
+    public void sameAsBatchScorer() throws IOException {
+        Random random = new Random(5);
+        StringBuilder input = new StringBuilder();
+        for (int i=0; i<10_001; i++) {
+            input.append(GAMES[random.nextInt(GAMES.length)]).append('\n');
+        }
+
+        BatchScorer batchScorer = new BatchScorer();
+        StringWriter expected = new StringWriter();
+        batchScorer.score(new BufferedReader(new StringReader(input.toString())), expected);
+
+        ParallelBatchScorer scorer = new ParallelBatchScorer(4, 100);
+        StringWriter output = new StringWriter();
+        scorer.score(new BufferedReader(new StringReader(input.toString())), output);
+
+        assertEquals(expected.toString(), output.toString());
+        assertEquals(batchScorer.getNumGames(), scorer.getNumGames());
+        assertEquals(batchScorer.getNumInvalid(), scorer.getNumInvalid());
+    }
+
+    @Test
+    public void invalidWorkers() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelBatchScorer(0));
+    }
+}
@@ -0,0 +1,145 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void appendAndReplay() throws IOException {
+        Path path = dir.resolve("rolls.log");
+        try (RollLog log = new RollLog(path, 0, TimeUnit.MILLISECONDS)) {
+            assertEquals(RollLog.NO_GENERATION, log.getGeneration());
+            assertEquals(0, log.append(1, 7, 0, 10));
+            assertEquals(1, log.append(2, 8, 0, 3));
+            assertEquals(2, log.append(2, 8, 0, 7));
+        }
+
+        try (RollLog log = new RollLog(path, 0, TimeUnit.MILLISECONDS)) {
+            assertEquals(3, log.getNumRecords());
+            assertEquals("1 7 0 10,2 8 0 3,2 8 0 7", replay(log));
+            assertEquals(3, log.append(1, 7, 1, 4));
+        }
+    }
+
+    @Test
+    public void groupCommit() throws IOException {
+        try (RollLog log = new RollLog(dir.resolve("rolls.log"), 0, TimeUnit.MILLISECONDS)) {
+            for (int i=0; i<100; i++) {
+                log.append(1, i, 0, 5);
+            }
+            assertEquals(0, log.getNumDurable());
+
+            log.sync();
+            assertEquals(100, log.getNumDurable());
+            assertEquals(1, log.getNumCommits());
+
+            // Nothing new to commit
+            log.sync();
+            assertEquals(1, log.getNumCommits());
+        }
+    }
+
+    @Test
+    public void backgroundCommit() throws Exception {
+        try (RollLog log = new RollLog(dir.resolve("rolls.log"), 1, TimeUnit.MILLISECONDS)) {
+            for (int i=0; i<100; i++) {
+                log.append(1, i, 0, 5);
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (log.getNumDurable() < 100 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(100, log.getNumDurable());
+        }
+    }
+
+    @Test
+    public void tornRecordStopsReplay() throws IOException {
+        Path path = dir.resolve("rolls.log");
+        try (RollLog log = new RollLog(path, 0, TimeUnit.MILLISECONDS)) {
+            log.append(1, 1, 0, 1);
+            log.append(1, 1, 0, 2);
+            log.append(1, 1, 1, 3);
+        }
+
+        // Only the pins of the 2nd record made it
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 9 }), RollLog.HEADER_SIZE + RollLog.RECORD_SIZE + 9);
+        }
+        try (RollLog log = new RollLog(path, 0, TimeUnit.MILLISECONDS)) {
+            assertEquals("1 1 0 1", replay(log));
+            // Appends go on after the last valid record
+            assertEquals(1, log.append(1, 1, 0, 9));
+        }
+    }
+
+    @Test
+    public void resetInvalidatesPreviousGeneration() throws IOException {
+        Path path = dir.resolve("rolls.log");
+        try (RollLog log = new RollLog(path, 0, TimeUnit.MILLISECONDS)) {
+            log.append(1, 1, 0, 1);
+            log.append(1, 1, 0, 2);
+            log.append(1, 1, 1, 3);
+            log.reset(1);
+            assertEquals(0, log.getNumRecords());
+            log.append(4, 4, 0, 4);
+        }
+
+        // The 2nd and 3rd record of the previous generation are still in the file
+        try (RollLog log = new RollLog(path, 0, TimeUnit.MILLISECONDS)) {
+            assertEquals(1, log.getGeneration());
+            assertEquals("4 4 0 4", replay(log));
+        }
+    }
+
+    @Test
+    public void grows() throws IOException {
+        Path path = dir.resolve("rolls.log");
+        int numRecords = 100_000;
+        try (RollLog log = new RollLog(path, 0, TimeUnit.MILLISECONDS)) {
+            for (int i=0; i<numRecords; i++) {
+                log.append(i, i, i % Game.MAX_FRAMES, i % 11);
+            }
+        }
+
+        try (RollLog log = new RollLog(path, 0, TimeUnit.MILLISECONDS)) {
+            assertEquals(numRecords, log.getNumRecords());
+            int[] next = { 0 };
+            log.replay((lane, game, frame, pins) -> {
+                int i = next[0]++;
+                assertEquals(i, lane);
+                assertEquals(i, game);
+                assertEquals(i % Game.MAX_FRAMES, frame);
+                assertEquals(i % 11, pins);
+            });
+            assertEquals(numRecords, next[0]);
+        }
+    }
+
+    @Test
+    public void notARollLog() throws IOException {
+        Path path = dir.resolve("rolls.txt");
+        Files.writeString(path, "X X X X X X X X X X X X\n");
+        assertThrows(IOException.class, () -> new RollLog(path, 0, TimeUnit.MILLISECONDS));
+    }
+
+    private static String replay(RollLog log) throws IOException {
+        List<String> records = new ArrayList<>();
+        log.replay((lane, game, frame, pins) -> records.add(lane + " " + game + " " + frame + " " + pins));
+        return String.join(",", records);
+    }
+}
@@ -0,0 +1,109 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RulesScorerTest {
+
+    private static final int[] PERFECT = { 10,10,10,10,10,10,10,10,10,10,10,10 };
+
+    @Test
+    public void standardScoresAsGame() {
+        RulesScorer scorer = GameRules.STANDARD.scorer();
+        assertEquals(300, scorer.scoreCode(PERFECT, PERFECT.length));
+        assertEquals(150, scorer.scoreGame(rolls(21, 5)).getTotalScore());
+
+        String[][] games = {
+                { "X","7/","9-","X","-8","8/","-6","X","X","X","X","81" },
+                { "X","7/","9-","X","-8","8/","-6","X","X","4/9" },
+                // The longest game, 22 rolls
+                { "9-","9-","9-","9-","9-","9-","9-","9-","9-","X","X","34" }
+        };
+        int[][] rolls = {
+                { 10,7,3,9,0,10,0,8,8,2,0,6,10,10,10,10,8,1 },
+                { 10,7,3,9,0,10,0,8,8,2,0,6,10,10,4,6,9 },
+                { 9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0,10,10,3,4 }
+        };
+        ScoringEngine engine = new ScoringEngine();
+        for (int i=0; i<games.length; i++) {
+            assertEquals(engine.scoreGame(games[i]).getTotalScore(), scorer.scoreCode(rolls[i], rolls[i].length),
+                    Arrays.toString(games[i]));
+        }
+    }
+
+    @Test
+    public void ninePinTap() {
+        RulesScorer scorer = GameRules.NINE_PIN_TAP.scorer();
+        assertEquals(300, scorer.scoreGame(rolls(12, 9)).getTotalScore());
+
+        // Only the 1st ball of a rack is tapped
+        int[] rolls = { 1,9, 9, 0,9, 0,0, 0,0, 0,0, 0,0, 0,0, 0,0, 0,0 };
+        assertEquals(GameRules.STANDARD.scorer().scoreCode(new int[] { 1,9, 10, 0,9, 0,0, 0,0, 0,0, 0,0, 0,0, 0,0, 0,0 }, 19),
+                scorer.scoreCode(rolls, rolls.length));
+    }
+
+    @Test
+    public void practice() {
+        GameRules rules = GameRules.practice(3);
+        assertEquals(3, rules.getNumFrames());
+        RulesScorer scorer = rules.scorer();
+        assertEquals(90, scorer.scoreGame(rolls(5, 10)).getTotalScore());
+        assertEquals(27, scorer.scoreGame(rolls(6, 4, 5)).getTotalScore());
+
+        LiveGame live = rules.newGame();
+        for (int pins : rolls(5, 10)) {
+            live.roll(pins);
+        }
+        assertTrue(live.isGameOver());
+        assertEquals(3, live.getNumFrames());
+    }
+
+    @Test
+    public void ninePins() {
+        RulesScorer scorer = new GameRules("9 pins", 10, 9, 9, true).scorer();
+        assertEquals(270, scorer.scoreGame(rolls(12, 9)).getTotalScore());
+        assertEquals(ValidationError.TOO_MANY_PINS, scorer.scoreGame(new int[] { 10 }).getError());
+    }
+
+    @Test
+    public void noBonus() {
+        RulesScorer scorer = new GameRules("pinfall", 10, 10, 10, false).scorer();
+        assertEquals(100, scorer.scoreGame(rolls(10, 10)).getTotalScore());
+        assertEquals(100, scorer.scoreGame(rolls(20, 5)).getTotalScore());
+        assertEquals(ValidationError.INVALID_NUMBER_OF_FRAMES, scorer.scoreGame(rolls(11, 10)).getError());
+    }
+
+    @Test
+    public void invalidGames() {
+        RulesScorer scorer = GameRules.STANDARD.scorer();
+        ScoreResult result = scorer.scoreGame(new int[] { 7,4 });
+        assertEquals(ValidationError.TOO_MANY_PINS, result.getError());
+        assertEquals(1, result.getTokenIndex());
+
+        assertEquals(ValidationError.INVALID_RESULT, scorer.scoreGame(new int[] { -1 }).getError());
+        assertEquals(ValidationError.INVALID_NUMBER_OF_FRAMES, scorer.scoreGame(rolls(19, 0)).getError());
+        assertEquals(ValidationError.MISSING_BONUS, scorer.scoreGame(rolls(11, 10)).getError());
+        assertEquals(ValidationError.INVALID_NUMBER_OF_FRAMES, scorer.scoreGame(rolls(13, 10)).getError());
+
+        // The scorer is reusable after an invalid game
+        assertEquals(300, scorer.scoreCode(PERFECT, PERFECT.length));
+    }
+
+    @Test
+    public void invalidRules() {
+        assertThrows(IllegalArgumentException.class, () -> new GameRules("none", 0, 10, 10, true));
+        assertThrows(IllegalArgumentException.class, () -> new GameRules("many", 10, 11, 10, true));
+        assertThrows(IllegalArgumentException.class, () -> new GameRules("tap", 10, 10, 11, true));
+        assertEquals("9-pin tap (10 frames, 10 pins, strike on 9)", GameRules.NINE_PIN_TAP.toString());
+    }
+
+    // The pins repeated, e.g. rolls(6, 4, 5) is 4,5,4,5,4,5
+    private static int[] rolls(int numRolls, int... pins) {
+        int[] rolls = new int[numRolls];
+        for (int i=0; i<numRolls; i++) {
+            rolls[i] = pins[i % pins.length];
+        }
+        return rolls;
+    }
+}
@@ -0,0 +1,111 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreCacheTest {
+
+    private static final String[] GAMES = {
+            "X X X X X X X X X X X X",
+            "9- 9- 9- 9- 9- 9- 9- 9- 9- 9-",
+            "X X X X X X X X X 4/5",
+            "X X X X X X X X X 4/10",
+            "5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/5",
+            "X 7/ 9- X -8 8/ -6 X X X X 81",
+            "X X a X X X X X X X X X",
+            "X X X X X X X X X X X",
+            "X X X X X X X X X 4/5 X X"
+    };
+
+    @Test
+    public void hitsAndMisses() {
+        ScoreCache cache = new ScoreCache(100);
+        ScoringEngine engine = new ScoringEngine();
+
+        assertEquals(300, score(cache, engine, "X X X X X X X X X X X X").getTotalScore());
+        assertEquals(300, score(cache, engine, "X X X X X X X X X X X X").getTotalScore());
+        assertEquals(90, score(cache, engine, "9- 9- 9- 9- 9- 9- 9- 9- 9- 9-").getTotalScore());
+        assertEquals(90, score(cache, engine, "9- 9- 9- 9- 9- 9- 9- 9- 9- 9-").getTotalScore());
+
+        // Invalid games are never cached
+        assertFalse(score(cache, engine, "X X a X X X X X X X X X").isValid());
+        assertFalse(score(cache, engine, "X X a X X X X X X X X X").isValid());
+
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void bounded() {
+        ScoreCache cache = new ScoreCache(32);
+        ScoringEngine engine = new ScoringEngine();
+        for (int first=0; first<=9; first++) {
+            for (int second=0; first+second<=9; second++) {
+                String frame = "" + first + second;
+                score(cache, engine, String.join(" ", frame, frame, frame, frame, frame, frame, frame, frame, frame, frame));
+            }
+        }
+        assertTrue(cache.size() <= 32);
+        assertThrows(IllegalArgumentException.class, () -> new ScoreCache(0));
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        // A single set
+        ScoreCache cache = new ScoreCache(2);
+        ScoringEngine engine = new ScoringEngine();
+        score(cache, engine, GAMES[0]);
+        score(cache, engine, GAMES[1]);
+        // The first game is used again, so the second one is evicted by the next game
+        score(cache, engine, GAMES[0]);
+        score(cache, engine, GAMES[2]);
+        assertEquals(1, cache.getHits());
+
+        score(cache, engine, GAMES[0]);
+        assertEquals(2, cache.getHits());
+        score(cache, engine, GAMES[1]);
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void sameAsScoringEngine() throws Exception {
+        ScoreCache cache = new ScoreCache(4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t=0; t<4; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    ScoringEngine engine = new ScoringEngine();
+                    ScoringEngine expected = new ScoringEngine();
+                    for (int i=0; i<10_000; i++) {
+                        String game = GAMES[random.nextInt(GAMES.length)];
+                        assertEquals(expected.scoreGame(game.split(" ")).toString(), score(cache, engine, game).toString(), game);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(40_000, cache.getHits() + cache.getMisses());
+        assertTrue(cache.getHits() > 0);
+    }
+
+    private static ScoreResult score(ScoreCache cache, ScoringEngine engine, String game) {
+        String[] tokens = game.split(" ");
+        return cache.scoreGame(tokens, tokens.length, engine);
+    }
+}
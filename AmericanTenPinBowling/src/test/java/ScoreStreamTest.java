@@ -0,0 +1,157 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreStreamTest {
+
+    @Test
+    public void publishesRolls() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // Larger than all the updates of a game, so nothing is dropped
+        try (ScoreStream stream = new ScoreStream(executor, 256)) {
+            Collector collector = new Collector(Long.MAX_VALUE);
+            stream.subscribe(collector);
+
+            LaneSessionManager manager = new LaneSessionManager(stream);
+            manager.startGame(3, "Alice");
+            for (int i=0; i<12; i++) {
+                manager.roll(3, "Alice", 10);
+            }
+            stream.close();
+            assertTrue(collector.completed.await(10, TimeUnit.SECONDS));
+            assertEquals(0, stream.getNumDropped());
+
+            List<ScoreUpdate> updates = collector.updates;
+            ScoreUpdate last = updates.get(updates.size() - 1);
+            assertEquals(ScoreUpdate.Type.GAME_OVER, last.getType());
+            assertEquals(300, last.getTotalScore());
+            assertEquals("Alice", last.getPlayer());
+            assertEquals(3, last.getLane());
+
+            // The 1st strike is resolved by the 3rd roll
+            assertTrue(updates.stream().anyMatch(u -> u.getFrame() == 0 && u.getFrameScore() == 30));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void slowSubscriberNeverBlocks() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (ScoreStream stream = new ScoreStream(executor, 4)) {
+            // Requests nothing until all the updates are published
+            Collector collector = new Collector(0);
+            stream.subscribe(collector);
+            assertTrue(collector.subscribed.await(10, TimeUnit.SECONDS));
+
+            GameListener listener = stream.listener(1, "Bob");
+            int numUpdates = 1000;
+            for (int i=0; i<numUpdates; i++) {
+                listener.frameScored(0, i, i);
+            }
+            assertTrue(stream.getNumDropped() > 0);
+
+            collector.subscription.request(Long.MAX_VALUE);
+            stream.close();
+            assertTrue(collector.completed.await(10, TimeUnit.SECONDS));
+
+            // The buffer is bounded, the rest was dropped
+            assertTrue(collector.updates.size() <= 8);
+            assertEquals(numUpdates, collector.updates.size() + stream.getNumDropped());
+            assertEquals(0, collector.updates.get(0).getTotalScore());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void noSubscribers() {
+        try (ScoreStream stream = new ScoreStream()) {
+            LaneSessionManager manager = new LaneSessionManager(stream);
+            manager.startGame(1, "Alice");
+            assertEquals(10, manager.roll(1, "Alice", 10));
+            assertEquals(0, stream.getNumSubscribers());
+            assertEquals(0, stream.getNumDropped());
+        }
+    }
+
+    @Test
+    public void closeWhileRolling() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ExecutorService roller = Executors.newSingleThreadExecutor();
+        try {
+            for (int round=0; round<200; round++) {
+                ScoreStream stream = new ScoreStream(executor, 4);
+                stream.subscribe(new Collector(Long.MAX_VALUE));
+                LiveGame game = new LiveGame();
+                game.setListener(stream.listener(1, "Alice"));
+
+                CountDownLatch started = new CountDownLatch(1);
+                Future<?> rolls = roller.submit(() -> {
+                    started.countDown();
+                    // A roll never fails because of a concurrent close()
+                    while (!game.isGameOver()) {
+                        game.roll(1);
+                    }
+                });
+                started.await();
+                stream.close();
+                rolls.get(10, TimeUnit.SECONDS);
+                assertEquals(20, game.getTotalScore());
+            }
+        } finally {
+            roller.shutdown();
+            executor.shutdown();
+        }
+    }
+
+    private static class Collector implements Flow.Subscriber<ScoreUpdate> {
+
+        private final long initialDemand;
+
+        private final List<ScoreUpdate> updates = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch subscribed = new CountDownLatch(1);
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private volatile Flow.Subscription subscription;
+
+        Collector(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+            subscribed.countDown();
+        }
+
+        @Override
+        public void onNext(ScoreUpdate update) {
+            updates.add(update);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
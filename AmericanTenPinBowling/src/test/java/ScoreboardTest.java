@@ -0,0 +1,108 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardTest {
+
+    @Test
+    public void cumulativeScores() {
+        LiveGame game = new LiveGame();
+        Scoreboard board = new Scoreboard();
+        game.setListener(board);
+
+        game.roll(10);
+        game.roll(4);
+        assertEquals(10, board.getCumulativeScore(0));
+        assertEquals(14, board.getCumulativeScore(1));
+        assertEquals(14, board.getCumulativeScore(Game.MAX_FRAMES - 1));
+        assertEquals(2, board.getNumFramesStarted());
+
+        // Resolves the strike of the 1st frame, so all the cumulative scores change
+        game.roll(3);
+        assertEquals(17, board.getCumulativeScore(0));
+        assertEquals(24, board.getCumulativeScore(1));
+        assertEquals(24, board.getTotalScore());
+
+        for (int i=0; i<16; i++) {
+            game.roll(i % 2 == 0 ? 5 : 4);
+        }
+        assertTrue(board.isGameOver());
+        int[] cumulative = board.getCumulativeScores();
+        int sum = 0;
+        for (int frame=0; frame<Game.MAX_FRAMES; frame++) {
+            sum += game.getFrameScore(frame);
+            assertEquals(sum, cumulative[frame]);
+            assertEquals(game.getFrameScore(frame), board.getFrameScore(frame));
+        }
+        assertEquals(game.getTotalScore(), cumulative[Game.MAX_FRAMES - 1]);
+        assertThrows(IndexOutOfBoundsException.class, () -> board.getCumulativeScore(Game.MAX_FRAMES));
+
+        board.reset();
+        assertEquals(0, board.getCumulativeScore(Game.MAX_FRAMES - 1));
+        assertFalse(board.isGameOver());
+    }
+
+    @Test
+    public void onlyTheSuffixIsSummed() {
+        LiveGame game = new LiveGame();
+        Scoreboard board = new Scoreboard();
+        game.setListener(board);
+        for (int i=0; i<16; i++) {
+            game.roll(3);
+        }
+        assertEquals(48, board.getCumulativeScore(Game.MAX_FRAMES - 1));
+        long numAdditions = board.getNumAdditions();
+
+        // Reads of an unchanged board are cached
+        for (int i=0; i<100; i++) {
+            board.getCumulativeScores();
+        }
+        assertEquals(numAdditions, board.getNumAdditions());
+
+        // A roll in the 9th frame only invalidates the last two frames
+        game.roll(4);
+        assertEquals(52, board.getCumulativeScore(Game.MAX_FRAMES - 1));
+        assertEquals(numAdditions + 2, board.getNumAdditions());
+    }
+
+    @Test
+    public void readWhileRolling() throws Exception {
+        LaneSessionManager manager = new LaneSessionManager();
+        manager.startGame(1, "Alice");
+        Scoreboard board = manager.scoreboard(1, "Alice");
+        assertNull(manager.scoreboard(2, "Alice"));
+
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService displays = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] reads = new Future<?>[4];
+            for (int i=0; i<reads.length; i++) {
+                reads[i] = displays.submit(() -> {
+                    while (!done.get()) {
+                        int[] cumulative = board.getCumulativeScores();
+                        for (int frame=1; frame<cumulative.length; frame++) {
+                            assertTrue(cumulative[frame] >= cumulative[frame - 1]);
+                        }
+                        assertTrue(cumulative[cumulative.length - 1] <= 300);
+                    }
+                });
+            }
+            for (int i=0; i<12; i++) {
+                manager.roll(1, "Alice", 10);
+            }
+            done.set(true);
+            for (Future<?> read : reads) {
+                read.get();
+            }
+        } finally {
+            displays.shutdownNow();
+        }
+        assertEquals(300, board.getCumulativeScore(Game.MAX_FRAMES - 1));
+        assertEquals(150, board.getCumulativeScore(4));
+    }
+}
@@ -0,0 +1,86 @@
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScorerPoolTest {
+
+    private static final String[][] GAMES = {
+            { "X","X","X","X","X","X","X","X","X","X","X","X" },
+            { "9-","9-","9-","9-","9-","9-","9-","9-","9-","9-" },
+            { "X","7/","9-","X","-8","8/","-6","X","X","X","X","81" },
+            { "5/","5/","5/","5/","5/","5/","5/","5/","5/","5/5" }
+    };
+
+    private static final int[] SCORES = { 300, 90, 185, 150 };
+
+    @Test
+    public void threadConfined() throws Exception {
+        ScorerPool<Game> pool = ScorerPool.games();
+        Set<Game> games = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t=0; t<4; t++) {
+                futures.add(executor.submit(() -> {
+                    Game first = pool.acquire();
+                    games.add(first);
+                    for (int i=0; i<1000; i++) {
+                        Game game = pool.acquire();
+                        assertSame(first, game);
+                        game.start(GAMES[i % GAMES.length]);
+                        assertEquals(SCORES[i % GAMES.length], game.getTotalScore());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(4, games.size());
+    }
+
+    @Test
+    public void steadyStateAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeAllocationMeasurable(threads);
+        ScorerPool<Game> pool = ScorerPool.games();
+
+        // Warm up, so the frames of the game are all created
+        int total = score(pool, 10_000);
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        total += score(pool, 10_000);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(2 * 2500 * (300 + 90 + 185 + 150), total);
+        assertTrue(allocated < 10_000, "Allocated " + allocated + " bytes for 10000 games");
+    }
+
+    private static int score(ScorerPool<Game> pool, int numGames) {
+        int total = 0;
+        for (int i=0; i<numGames; i++) {
+            Game game = pool.acquire();
+            game.start(GAMES[i % GAMES.length]);
+            total += game.getTotalScore();
+        }
+        return total;
+    }
+
+    private static void assumeAllocationMeasurable(com.sun.management.ThreadMXBean threads) {
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled());
+    }
+}
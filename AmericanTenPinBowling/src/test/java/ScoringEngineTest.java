@@ -0,0 +1,222 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoringEngineTest {
+
+    private static final String[] TOKENS = {
+            "X", "X", "X", "1/", "5/", "9/", "--", "-5", "5-", "9-", "12", "45", "81", "54", "5/5", "7/10"
+    };
+
+    @Test
+    public void allStrikes() {
+        String[] tokens = { "X","X","X","X","X","X","X","X","X","X","X","X" };
+        ScoringEngine engine = new ScoringEngine();
+        assertEquals(300, engine.score(tokens));
+        assertEquals(10, engine.getFrameCount());
+        assertEquals(12, engine.getRollCount());
+        assertEquals(30, engine.getFrameScore(9));
+    }
+
+    @Test
+    public void all5Spare() {
+        String[] tokens = { "5/","5/","5/","5/","5/","5/","5/","5/","5/","5/5" };
+        ScoringEngine engine = new ScoringEngine();
+        assertEquals(150, engine.score(tokens));
+        assertEquals(21, engine.getRollCount());
+    }
+
+    @Test
+    public void longestGame() {
+        String[] tokens = { "9-","9-","9-","9-","9-","9-","9-","9-","9-","X","X","34" };
+        ScoringEngine engine = new ScoringEngine();
+        LiveGame game = new LiveGame();
+        for (int pins : new int[] { 9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0,9,0,10,10,3,4 }) {
+            game.roll(pins);
+        }
+        assertEquals(game.getTotalScore(), engine.score(tokens));
+        assertEquals(ScoringEngine.MAX_ROLLS, engine.getRollCount());
+        // Without growing the rolls
+        assertEquals(ScoringEngine.MAX_ROLLS, engine.getRollCapacity());
+    }
+
+    @Test
+    public void allStrikes9Miss() {
+        String[] tokens = { "9-","9-","9-","9-","9-","9-","9-","9-","9-","9-" };
+        assertEquals(90, new ScoringEngine().score(tokens));
+    }
+
+    @Test
+    public void allStrikes10thSpare11thSpare() {
+        String[] tokens = { "X","X","X","X","X","X","X","X","X","4/5" };
+        assertEquals(275, new ScoringEngine().score(tokens));
+    }
+
+    @Test
+    public void reuse() {
+        ScoringEngine engine = new ScoringEngine();
+        assertEquals(300, engine.score(new String[] { "X","X","X","X","X","X","X","X","X","X","X","X" }));
+        assertEquals(9, engine.score(new String[] { "54" }));
+        assertEquals(1, engine.getFrameCount());
+        assertEquals(9, engine.getTotalScore());
+    }
+
+    @Test
+    public void scoreFailure() {
+        NumberFormatException thrown = Assertions.assertThrows(NumberFormatException.class, () -> {
+            new ScoringEngine().score(new String[] { "" });
+        });
+        assertEquals("Empty result 1", thrown.getMessage());
+
+        thrown = Assertions.assertThrows(NumberFormatException.class, () -> {
+            new ScoringEngine().score(new String[] { "1" });
+        });
+        assertEquals("Empty result 2", thrown.getMessage());
+
+        thrown = Assertions.assertThrows(NumberFormatException.class, () -> {
+            new ScoringEngine().score(new String[] { "X","X","X","X","X","X","X","X","X","X" });
+        });
+        assertEquals("Missing bonus throw", thrown.getMessage());
+    }
+
+    @Test
+    public void sameAsGame() {
+        Random random = new Random(42);
+        ScoringEngine engine = new ScoringEngine();
+
+        for (int n=0; n<2000; n++) {
+            String[] tokens = new String[10 + random.nextInt(3)];
+            for (int i=0; i<tokens.length; i++) {
+                tokens[i] = TOKENS[random.nextInt(TOKENS.length)];
+            }
+            assertEquals(gameScore(tokens), engineScore(engine, tokens), String.join(" ", tokens));
+        }
+    }
+
+    @Test
+    public void scoreGame() {
+        ScoringEngine engine = new ScoringEngine();
+
+        ScoreResult result = engine.scoreGame(new String[] { "X","X","X","X","X","X","X","X","X","X","X","X" });
+        assertTrue(result.isValid());
+        assertEquals(300, result.getTotalScore());
+
+        result = engine.scoreGame(new String[] { "X","X","X","X","X","X","X","X","X","4/5" });
+        assertTrue(result.isValid());
+        assertEquals(275, result.getTotalScore());
+
+        result = engine.scoreGame(new String[] { "9-","9-","9-","9-","9-","9-","9-","9-","9-","9-" });
+        assertTrue(result.isValid());
+        assertEquals(90, result.getTotalScore());
+    }
+
+    @Test
+    public void scoreGameInvalid() {
+        ScoringEngine engine = new ScoringEngine();
+
+        assertInvalid(engine.scoreGame(new String[] { "X" }), ValidationError.INVALID_NUMBER_OF_FRAMES, 1);
+        assertInvalid(engine.scoreGame(new String[] { "X","X","a","X","X","X","X","X","X","X","X","X" }),
+                ValidationError.INVALID_RESULT, 2);
+        assertInvalid(engine.scoreGame(new String[] { "X","X","X","X","X","4/5","X","X","X","X","X","X" }),
+                ValidationError.INVALID_RESULT, 5);
+        assertInvalid(engine.scoreGame(new String[] { "X","X","X","X","X","X","X","99","X","X","X","X" }),
+                ValidationError.TOO_MANY_PINS, 7);
+        assertInvalid(engine.scoreGame(new String[] { "X","X","X","X","X","X","X","X","X","X" }),
+                ValidationError.MISSING_BONUS, 10);
+        assertInvalid(engine.scoreGame(new String[] { "X","X","X","X","X","X","X","X","X","X","X","5-" }),
+                ValidationError.INVALID_BONUS, 11);
+        assertInvalid(engine.scoreGame(new String[] { "X","X","X","X","X","X","X","X","X","4/5","X","X" }),
+                ValidationError.INVALID_NUMBER_OF_FRAMES, 10);
+    }
+
+    @Test
+    public void leftOverTokens() {
+        ScoringEngine engine = new ScoringEngine();
+        // The bonus of the 10th frame strike is a single token, the last one is not part of the game
+        assertInvalid(engine.scoreGame(new String[] { "X","X","X","X","X","X","X","X","X","X","7/","ZZ" }),
+                ValidationError.INVALID_NUMBER_OF_FRAMES, 11);
+        // 12 tokens are only a 10th frame strike followed by a strike
+        assertInvalid(engine.scoreGame(new String[] { "9-","9-","9-","9-","9-","9-","9-","9-","9-","34","X","X" }),
+                ValidationError.INVALID_NUMBER_OF_FRAMES, 10);
+        assertInvalid(engine.scoreGame(new String[] { "X","X","X","X","X","X","X","X","X","9/","X","X" }),
+                ValidationError.INVALID_NUMBER_OF_FRAMES, 10);
+        assertInvalid(engine.scoreGame(new String[] { "X","X","X","X","X","X","X","X","X","X","81","X" }),
+                ValidationError.INVALID_NUMBER_OF_FRAMES, 11);
+
+        assertEquals(300, engine.scoreGame(new String[] { "X","X","X","X","X","X","X","X","X","X","X","X" }).getTotalScore());
+        assertTrue(engine.scoreGame(new String[] { "9-","9-","9-","9-","9-","9-","9-","9-","9-","X","X","34" }).isValid());
+    }
+
+    @Test
+    public void scoreCode() {
+        ScoringEngine engine = new ScoringEngine();
+
+        int code = engine.scoreCode(new String[] { "X","X","X","X","X","X","X","X","X","X","X","X" }, 12);
+        assertTrue(ScoreCode.isValid(code));
+        assertEquals(300, ScoreCode.totalScore(code));
+        assertNull(ScoreCode.error(code));
+        assertEquals(-1, ScoreCode.tokenIndex(code));
+
+        code = engine.scoreCode(new String[] { "X","X","X","X","X","X","X","99","X","X","X","X" }, 12);
+        assertFalse(ScoreCode.isValid(code));
+        assertEquals(ValidationError.TOO_MANY_PINS, ScoreCode.error(code));
+        assertEquals(7, ScoreCode.tokenIndex(code));
+
+        code = engine.scoreCode(new String[0], 100_000);
+        assertEquals(ValidationError.INVALID_NUMBER_OF_FRAMES, ScoreCode.error(code));
+        assertEquals(100_000, ScoreCode.tokenIndex(code));
+        assertEquals("Invalid number of parameters: must be 10 or 12 at token 100000", ScoreCode.toResult(code).toString());
+
+        // Results are shared
+        assertSame(engine.scoreGame(new String[] { "X" }), engine.scoreGame(new String[] { "X" }));
+    }
+
+    @Test
+    public void scoreGameSameAsGame() {
+        Random random = new Random(7);
+        ScoringEngine engine = new ScoringEngine();
+
+        for (int n=0; n<2000; n++) {
+            String[] tokens = new String[random.nextBoolean() ? 10 : 12];
+            for (int i=0; i<tokens.length; i++) {
+                tokens[i] = TOKENS[random.nextInt(TOKENS.length)];
+            }
+
+            ScoreResult result = engine.scoreGame(tokens);
+            if (result.isValid()) {
+                assertEquals(gameScore(tokens), result.getTotalScore(), String.join(" ", tokens));
+            } else if (Game.isInputValid(tokens) && result.getError() != ValidationError.INVALID_NUMBER_OF_FRAMES) {
+                // Game accepts it, but fails to score it. Game also scores tokens left over after the 10th frame.
+                assertEquals(-1, gameScore(tokens), String.join(" ", tokens));
+            }
+        }
+    }
+
+    private static void assertInvalid(ScoreResult result, ValidationError error, int tokenIndex) {
+        assertFalse(result.isValid());
+        assertEquals(error, result.getError());
+        assertEquals(tokenIndex, result.getTokenIndex());
+    }
+
+    private static int gameScore(String[] tokens) {
+        try {
+            Game game = new Game(tokens.length);
+            game.parseGameResult(tokens);
+            game.calculateTotalScore();
+            return game.getTotalScore();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static int engineScore(ScoringEngine engine, String[] tokens) {
+        try {
+            return engine.score(tokens);
+        } catch (NumberFormatException nfe) {
+            return -1;
+        }
+    }
+}
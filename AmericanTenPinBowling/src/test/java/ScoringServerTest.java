@@ -0,0 +1,166 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoringServerTest {
+
+    private static final String[] GAMES = {
+            "X X X X X X X X X X X X",
+            "9- 9- 9- 9- 9- 9- 9- 9- 9- 9-",
+            "5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/5",
+            "X 7/ 9- X -8 8/ -6 X X X X 81",
+            "X X a"
+    };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void tcp() throws IOException {
+        try (ScoringServer server = new ScoringServer(ScoringServer.address("0"))) {
+            server.start();
+            assertNotEquals(0, ((InetSocketAddress) server.getAddress()).getPort());
+            scoreAll(server.getAddress());
+        }
+    }
+
+    @Test
+    public void unixDomainSocket() throws IOException {
+        Path socket = dir.resolve("scoring.sock");
+        SocketAddress address = ScoringServer.address(socket.toString());
+        assertTrue(address instanceof UnixDomainSocketAddress);
+
+        try (ScoringServer server = new ScoringServer(address)) {
+            server.start();
+            scoreAll(address);
+        }
+        assertFalse(Files.exists(socket));
+    }
+
+    @Test
+    public void pipelining() throws IOException {
+        List<String> games = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        BatchScorer scorer = new BatchScorer();
+        for (int i=0; i<3 * ScoringClient.MAX_PIPELINED + 7; i++) {
+            games.add(GAMES[i % GAMES.length]);
+            expected.add(scorer.scoreLine(GAMES[i % GAMES.length]));
+        }
+
+        try (ScoringServer server = new ScoringServer(ScoringServer.address("0"))) {
+            server.start();
+            try (ScoringClient client = new ScoringClient(server.getAddress())) {
+                assertEquals(expected, client.score(games));
+            }
+        }
+    }
+
+    @Test
+    public void concurrentClients() throws Exception {
+        int numClients = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(numClients);
+        try (ScoringServer server = new ScoringServer(ScoringServer.address("0"))) {
+            server.start();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i=0; i<numClients; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j=0; j<50; j++) {
+                        scoreAll(server.getAddress());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void tooLongLines() throws IOException {
+        String tooLong = "X ".repeat(ScoringServer.MAX_LINE_LENGTH);
+        try (ScoringServer server = new ScoringServer(ScoringServer.address("0"))) {
+            server.start();
+            try (ScoringClient client = new ScoringClient(server.getAddress())) {
+                assertEquals("INVALID " + ScoringServer.LINE_TOO_LONG, client.score(tooLong));
+                // The client is still served
+                assertEquals("300", client.score(GAMES[0]));
+                assertEquals(List.of("INVALID " + ScoringServer.LINE_TOO_LONG, "90", "INVALID " + ScoringServer.LINE_TOO_LONG),
+                        client.score(List.of(tooLong.repeat(100), GAMES[1], tooLong)));
+            }
+        }
+    }
+
+    @Test
+    public void lineReader() throws IOException {
+        String longest = "-".repeat(ScoringServer.MAX_LINE_LENGTH);
+        String input = "X X\r\n\n" + longest + "\n" + longest + "-\n" + "9".repeat(100_000) + "\n9- 9-";
+        ScoringServer.LineReader reader = new ScoringServer.LineReader(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.ISO_8859_1)));
+        assertEquals("X X", reader.readLine());
+        assertEquals("", reader.readLine());
+        assertFalse(reader.wasTooLong());
+        assertEquals(longest, reader.readLine());
+        assertFalse(reader.wasTooLong());
+        assertEquals("", reader.readLine());
+        assertTrue(reader.wasTooLong());
+        assertEquals("", reader.readLine());
+        assertTrue(reader.wasTooLong());
+        assertEquals("9- 9-", reader.readLine());
+        assertFalse(reader.wasTooLong());
+        assertNull(reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    public void maxClients() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (ScoringServer server = new ScoringServer(ScoringServer.address("0"), GameListener.NONE, 1)) {
+            server.start();
+            ScoringClient first = new ScoringClient(server.getAddress());
+            assertEquals("300", first.score(GAMES[0]));
+
+            // Connected, but not served until the first client leaves
+            ScoringClient second = new ScoringClient(server.getAddress());
+            Future<String> result = executor.submit(() -> second.score(GAMES[1]));
+            assertThrows(TimeoutException.class, () -> result.get(200, TimeUnit.MILLISECONDS));
+            assertEquals(1, server.getNumClients());
+
+            first.close();
+            assertEquals("90", result.get(10, TimeUnit.SECONDS));
+            second.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void scoreAll(SocketAddress address) throws IOException {
+        try (ScoringClient client = new ScoringClient(address)) {
+            assertEquals("300", client.score(GAMES[0]));
+            assertEquals("90", client.score(GAMES[1]));
+            assertEquals("150", client.score(GAMES[2]));
+            assertEquals(String.valueOf(new ScoringEngine().score(GAMES[3].split(" "))), client.score(GAMES[3]));
+            assertTrue(client.score(GAMES[4]).startsWith("INVALID "));
+            assertThrows(IllegalArgumentException.class, () -> client.score("X\nX"));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsAggregatorTest {
+
+    private static final String[] GAMES = {
+            "X X X X X X X X X X X X",
+            "9- 9- 9- 9- 9- 9- 9- 9- 9- 9-",
+            "X X X X X X X X X 4/5",
+            "5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/ 5/5",
+            "X 7/ 9- X -8 8/ -6 X X X X 81",
+            "X X a"
+    };
+
+    private static final String[] PLAYERS = { "alice", "bob", "carol" };
+
+    @Test
+    public void playerStats() {
+        StatsAggregator aggregator = new StatsAggregator();
+        aggregator.addLine("alice X 7/ 9- X -8 8/ -6 X X X X 81");
+        aggregator.addLine("alice 9- 9- 9- 9- 9- 9- 9- 9- 9- 9-");
+        aggregator.addLine("alice X X a");
+        aggregator.addLine("");
+
+        PlayerStats stats = aggregator.getStats("alice");
+        assertEquals(2, stats.getNumGames());
+        assertEquals(1, aggregator.getNumInvalid());
+        assertEquals(20, stats.getNumFrames());
+
+        // 5 strikes, 2 spares and 3 open frames, then 10 open frames
+        assertEquals(5 / 20.0, stats.getStrikeRate(), 1e-9);
+        assertEquals(2 / 15.0, stats.getSpareConversionRate(), 1e-9);
+        assertEquals(13 / 20.0, stats.getOpenFrameRate(), 1e-9);
+        assertEquals((5 * 10 + 7 + 9 + 0 + 8 + 0 + 10 * 9) / 20.0, stats.getFirstBallAverage(), 1e-9);
+        assertEquals(1, stats.getNumTenthStrikes());
+        assertEquals(1, stats.getNumTenthOpenFrames());
+        assertEquals(0, stats.getNumTenthSpares());
+        assertNull(aggregator.getStats("bob"));
+    }
+
+    @Test
+    public void parallelSameAsSerial() throws IOException {
+        Random random = new Random(15);
+        StringBuilder input = new StringBuilder();
+        for (int i=0; i<20_000; i++) {
+            input.append(PLAYERS[random.nextInt(PLAYERS.length)]).append(' ')
+                    .append(GAMES[random.nextInt(GAMES.length)]).append('\n');
+        }
+
+        StatsAggregator serial = new StatsAggregator();
+        serial.aggregate(new BufferedReader(new StringReader(input.toString())));
+        StatsAggregator parallel = StatsAggregator.aggregate(new BufferedReader(new StringReader(input.toString())), 3);
+
+        assertEquals(serial.getNumInvalid(), parallel.getNumInvalid());
+        for (String player : PLAYERS) {
+            assertEquals(serial.getStats(player).toString(), parallel.getStats(player).toString());
+            assertEquals(serial.getStats(player).getNumGames(), parallel.getStats(player).getNumGames());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableScorerTest {
+
+    private static final String[] TOKENS = {
+            "X", "X", "X", "1/", "5/", "9/", "-5", "5-", "9-", "12", "45", "81", "55", "5/5", "7/10", "3/90"
+    };
+
+    @Test
+    public void allStrikes() {
+        assertEquals(300, TableScorer.score(new String[] { "X","X","X","X","X","X","X","X","X","X","X","X" }));
+    }
+
+    @Test
+    public void all5Spare() {
+        assertEquals(150, TableScorer.score(new String[] { "5/","5/","5/","5/","5/","5/","5/","5/","5/","5/5" }));
+    }
+
+    @Test
+    public void allStrikes10thSpare11thSpare() {
+        assertEquals(275, TableScorer.score(new String[] { "X","X","X","X","X","X","X","X","X","4/5" }));
+    }
+
+    @Test
+    public void invalid() {
+        assertThrows(NumberFormatException.class, () -> TableScorer.score(new String[] { "X","a" }));
+        assertThrows(NumberFormatException.class,
+                () -> TableScorer.score(new String[] { "X","X","X","X","X","X","X","X","X","X","X" }));
+    }
+
+    @Test
+    public void sameAsScoringEngine() {
+        Random random = new Random(3);
+        ScoringEngine engine = new ScoringEngine();
+        int numValid = 0;
+
+        for (int n=0; n<20000; n++) {
+            String[] tokens = new String[random.nextBoolean() ? 10 : 12];
+            for (int i=0; i<tokens.length; i++) {
+                tokens[i] = TOKENS[random.nextInt(TOKENS.length)];
+            }
+
+            ScoreResult result = engine.scoreGame(tokens);
+            if (result.isValid()) {
+                assertEquals(result.getTotalScore(), TableScorer.score(tokens), String.join(" ", tokens));
+                numValid++;
+            }
+        }
+        assertTrue(numValid > 1000);
+    }
+}
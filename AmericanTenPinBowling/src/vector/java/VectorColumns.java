@@ -0,0 +1,77 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ * The SIMD path of ColumnarScorer, only loaded if the jdk.incubator.vector module is present.
+ * It is the only class which needs the module, so it is compiled on its own, see build.gradle.
+ *
+ * Every lane of a vector is a game, frame scores are computed for all the lanes
+ * with the same rules as ColumnarScorer.scoreScalar(), by blending the candidate scores
+ * on masks of the frame kinds.
+ */
+final class VectorColumns {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private static final int MAX_SCORE = ColumnarScorer.MAX_SCORE;
+
+    private VectorColumns() {}
+
+    static boolean isSupported() {
+        return SPECIES.length() > 1;
+    }
+
+    // Scores the games of whole vectors, returns the number of games scored, the rest is left to the scalar path
+    static int score(ColumnarScorer columns, int numGames, int[] totals) {
+        int bound = SPECIES.loopBound(numGames);
+        IntVector none = IntVector.broadcast(SPECIES, ColumnarScorer.NONE);
+        IntVector zero = IntVector.zero(SPECIES);
+        IntVector maxScore = IntVector.broadcast(SPECIES, MAX_SCORE);
+        IntVector twoMaxScore = IntVector.broadcast(SPECIES, 2 * MAX_SCORE);
+        IntVector threeMaxScore = IntVector.broadcast(SPECIES, 3 * MAX_SCORE);
+
+        for (int g=0; g<bound; g+=SPECIES.length()) {
+            IntVector total = IntVector.fromArray(SPECIES, columns.bonus, g);
+
+            IntVector kind = IntVector.fromArray(SPECIES, columns.kind[0], g);
+            IntVector pins = IntVector.fromArray(SPECIES, columns.pins[0], g);
+            IntVector nextKind = IntVector.fromArray(SPECIES, columns.kind[1], g);
+            IntVector nextPins = IntVector.fromArray(SPECIES, columns.pins[1], g);
+            for (int f=0; f<ColumnarScorer.MAX_FRAMES; f++) {
+                boolean hasNextNext = f + 2 < ColumnarScorer.MAX_FRAMES;
+                IntVector nextNextKind = hasNextNext ? IntVector.fromArray(SPECIES, columns.kind[f+2], g) : none;
+                IntVector nextNextPins = hasNextNext ? IntVector.fromArray(SPECIES, columns.pins[f+2], g) : zero;
+                IntVector first = IntVector.fromArray(SPECIES, columns.first[f], g);
+
+                VectorMask<Integer> nextStrike = nextKind.compare(VectorOperators.EQ, ColumnarScorer.STRIKE);
+
+                // Strike: next open or none, next spare, next strike
+                IntVector strike = nextPins.add(maxScore)
+                        .blend(twoMaxScore, nextKind.compare(VectorOperators.EQ, ColumnarScorer.SPARE))
+                        .blend(threeMaxScore.blend(nextNextPins.add(twoMaxScore),
+                                nextNextKind.compare(VectorOperators.EQ, ColumnarScorer.OPEN)), nextStrike);
+
+                // Spare: next open or spare, next none, next strike
+                IntVector spare = first.add(maxScore)
+                        .blend(maxScore, nextKind.compare(VectorOperators.EQ, ColumnarScorer.NONE))
+                        .blend(twoMaxScore, nextStrike);
+
+                // Open or none: the pins
+                IntVector score = pins
+                        .blend(spare, kind.compare(VectorOperators.EQ, ColumnarScorer.SPARE))
+                        .blend(strike, kind.compare(VectorOperators.EQ, ColumnarScorer.STRIKE));
+                total = total.add(score);
+
+                // Slide the window of frames
+                kind = nextKind;
+                pins = nextPins;
+                nextKind = nextNextKind;
+                nextPins = nextNextPins;
+            }
+            total.intoArray(totals, g);
+        }
+        return bound;
+    }
+}